@@ -1,12 +1,19 @@
 package com.automation.base;
 
+import com.automation.driver.ProcessLedger;
 import com.automation.driver.WebDriverFactory;
+import com.automation.grid.LocalHub;
+import com.automation.listeners.BrowserMatrixListener;
 import com.automation.utils.ConfigReader;
 import com.automation.utils.SeleniumUtils;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
 import org.testng.annotations.*;
+import org.testng.xml.XmlSuite;
+
+import java.util.Map;
 
 public abstract class BaseTest {
 
@@ -16,9 +23,27 @@ public abstract class BaseTest {
     protected SeleniumUtils seleniumUtils;
 
     @BeforeSuite(alwaysRun = true)
-    public void suiteSetup() {
+    public void suiteSetup(ITestContext context) {
         logger.info("=== Test Suite Started ===");
         config = ConfigReader.getInstance();
+
+        XmlSuite xmlSuite = context.getSuite().getXmlSuite();
+        int threadCount = xmlSuite.getParallel() == XmlSuite.ParallelMode.NONE ? 1 : xmlSuite.getThreadCount();
+        ProcessLedger.reconcileIfConfigured();
+        LocalHub.startIfConfigured();
+
+        Map<WebDriverFactory.BrowserType, Integer> matrix = BrowserMatrixListener.browserThreadCounts(xmlSuite);
+        if (matrix.isEmpty()) {
+            WebDriverFactory.startDriverServices();
+            WebDriverFactory.buildProfileTemplates();
+            WebDriverFactory.prewarm(threadCount);
+            return;
+        }
+        matrix.forEach((browserType, browserThreads) -> {
+            WebDriverFactory.startDriverServices(browserType);
+            WebDriverFactory.buildProfileTemplates(browserType);
+            WebDriverFactory.prewarm(browserType, browserThreads);
+        });
     }
 
     @BeforeClass(alwaysRun = true)
@@ -27,12 +52,19 @@ public abstract class BaseTest {
     }
 
     @BeforeMethod(alwaysRun = true)
-    public void methodSetup() {
+    public void methodSetup(ITestContext context) {
         logger.info("=== Test Method Setup ===");
-        driver = WebDriverFactory.initializeDriver();
+        String matrixBrowser = context.getCurrentXmlTest().getLocalParameters().get(BrowserMatrixListener.BROWSER_PARAMETER);
+        driver = matrixBrowser != null
+                ? WebDriverFactory.initializeDriver(WebDriverFactory.browserTypeOf(matrixBrowser))
+                : WebDriverFactory.initializeDriver();
         seleniumUtils = new SeleniumUtils(driver);
         config = ConfigReader.getInstance();
         String baseUrl = config.getProperty("base.url", "http://localhost:3000");
+        if (WebDriverFactory.isSessionAtBaseUrl()) {
+            logger.info("Reused session already reset on base URL: {}", baseUrl);
+            return;
+        }
         logger.info("Navigating to base URL: {}", baseUrl);
         driver.get(baseUrl);
     }
@@ -52,6 +84,8 @@ public abstract class BaseTest {
 
     @AfterSuite(alwaysRun = true)
     public void suiteTeardown() {
+        WebDriverFactory.shutdown();
+        LocalHub.stopIfRunning();
         logger.info("=== Test Suite Completed ===");
     }
 }
\ No newline at end of file
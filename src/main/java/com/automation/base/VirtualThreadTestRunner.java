@@ -0,0 +1,58 @@
+package com.automation.base;
+
+import com.automation.listeners.VirtualThreadExecutorFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.TestNG;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs TestNG suites of {@link BaseTest} subclasses with parallel test methods on virtual threads.
+ * Intended for remote execution (grid.hub.url or BrowserStack), where each test thread spends nearly all its
+ * time blocked on HTTP round-trips and hundreds of concurrent sessions would otherwise need hundreds of
+ * platform threads. runner.thread.count overrides the suite thread-count, e.g. to match parallelsPerPlatform.
+ * Falls back to platform threads on JVMs older than 21.
+ * <p>
+ * Usage: {@code mvn clean test -P virtual-threads -Dsuite.file=src/test/resources/testng.xml -Drunner.thread.count=200}
+ */
+public final class VirtualThreadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadTestRunner.class);
+
+    private VirtualThreadTestRunner() {
+    }
+
+    /**
+     * @param args TestNG suite files; defaults to src/test/resources/testng.xml
+     */
+    public static void main(String[] args) {
+        List<String> suites = args.length > 0
+                ? Arrays.asList(args)
+                : Collections.singletonList("src/test/resources/testng.xml");
+
+        TestNG testng = new TestNG();
+        testng.setTestSuites(suites);
+        testng.setExecutorFactory(new VirtualThreadExecutorFactory());
+        int threadCount = ConfigReader.getInstance().getIntProperty("runner.thread.count", 0);
+        if (threadCount > 0) {
+            testng.setThreadCount(threadCount);
+        }
+
+        if (VirtualThreads.isAvailable()) {
+            logger.info("Running {} with test methods on virtual threads", suites);
+        } else {
+            logger.warn("Virtual threads need JDK 21+ (running on {}), falling back to platform threads",
+                    System.getProperty("java.version"));
+        }
+        testng.run();
+
+        if (testng.getStatus() != 0) {
+            throw new IllegalStateException("Test run failed with TestNG status " + testng.getStatus());
+        }
+    }
+}
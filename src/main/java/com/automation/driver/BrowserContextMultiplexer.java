@@ -0,0 +1,291 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import com.automation.utils.ToastRecorder;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many isolated tests inside one browser process.
+ * A single host Chrome or Edge is launched per browser type; every leased session is a separate driver
+ * attached to that browser through its debugger address, working in its own browser context (separate
+ * cookies, storage and cache, like an incognito profile) and its own tab. Releasing the session disposes
+ * the context and detaches the driver, leaving the host browser running for the next test.
+ * <p>
+ * An attached driver sees every tenant's tabs in {@link WebDriver#getWindowHandles()}, so code that enumerates or
+ * switches windows goes through {@link #windowHandles(WebDriver)}, which lists only the tabs of the session's own
+ * browser context.
+ */
+public class BrowserContextMultiplexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContextMultiplexer.class);
+    private static BrowserContextMultiplexer instance;
+
+    private final Map<WebDriverFactory.BrowserType, WebDriver> hosts = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Tenant> tenants = new ConcurrentHashMap<>();
+    private final TimingStats contextCreations = new TimingStats("Browser context creation");
+    private final AtomicInteger peakContexts = new AtomicInteger();
+
+    private static final class Tenant {
+        private final WebDriver host;
+        private final String browserContextId;
+        private final String primaryTargetId;
+
+        private Tenant(WebDriver host, String browserContextId, String primaryTargetId) {
+            this.host = host;
+            this.browserContextId = browserContextId;
+            this.primaryTargetId = primaryTargetId;
+        }
+    }
+
+    private BrowserContextMultiplexer() {
+    }
+
+    /**
+     * Get singleton instance of BrowserContextMultiplexer
+     *
+     * @return BrowserContextMultiplexer instance
+     */
+    public static BrowserContextMultiplexer getInstance() {
+        if (instance == null) {
+            synchronized (BrowserContextMultiplexer.class) {
+                if (instance == null) {
+                    instance = new BrowserContextMultiplexer();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("driver.context.multiplexing", false);
+    }
+
+    /**
+     * @param browserType Browser type
+     * @return true when sessions of this browser type can share one local browser process
+     */
+    public static boolean supports(WebDriverFactory.BrowserType browserType) {
+        return (browserType == WebDriverFactory.BrowserType.CHROME || browserType == WebDriverFactory.BrowserType.EDGE)
+                && !WebDriverFactory.isGridEnabled();
+    }
+
+    /**
+     * Open a new browser context in the shared host browser and return a driver bound to its tab
+     *
+     * @param browserType Chrome or Edge
+     * @param headless    Whether the host browser runs headless when it is first launched
+     * @return Driver isolated in its own browser context
+     */
+    public WebDriver lease(WebDriverFactory.BrowserType browserType, boolean headless) {
+        WebDriver host = host(browserType, headless);
+        try {
+            return openContext(browserType, host);
+        } catch (RuntimeException e) {
+            if (isAlive(host)) {
+                throw e;
+            }
+            logger.warn("Host {} browser stopped responding, launching a new one", browserType);
+            hosts.remove(browserType, host);
+            SessionReaper.getInstance().quit(host, "context host " + browserType);
+            return openContext(browserType, host(browserType, headless));
+        }
+    }
+
+    /**
+     * Dispose the session's browser context and detach its driver
+     *
+     * @param webDriver Driver obtained from {@link #lease}
+     * @return false when the driver was not leased from this multiplexer
+     */
+    public boolean release(WebDriver webDriver) {
+        Tenant tenant = tenants.remove(webDriver);
+        if (tenant == null) {
+            return false;
+        }
+        try {
+            browserDevTools(tenant.host).send(new Command<Void>("Target.disposeBrowserContext",
+                    Collections.singletonMap("browserContextId", tenant.browserContextId)));
+        } catch (Exception e) {
+            logger.warn("Failed to dispose browser context {}", tenant.browserContextId, e);
+        }
+        // Quitting an attached driver only ends its driver process; the host browser keeps running
+        SessionReaper.getInstance().quit(webDriver, "browser context " + tenant.browserContextId);
+        return true;
+    }
+
+    /**
+     * Window handles of the session's own tabs: the tab it was leased with plus any popups opened from it, which
+     * the browser places in the same context. ChromeDriver uses DevTools target ids as window handles.
+     *
+     * @param webDriver Any session
+     * @return Handles of the session's tabs, its first tab first; all window handles for sessions not leased here
+     */
+    public Set<String> windowHandles(WebDriver webDriver) {
+        Tenant tenant = tenants.get(webDriver);
+        if (tenant == null) {
+            return webDriver.getWindowHandles();
+        }
+        Map<String, Object> targets = browserDevTools(tenant.host).send(new Command<>("Target.getTargets",
+                Collections.emptyMap(), input -> input.read(Json.MAP_TYPE)));
+        List<String> own = new ArrayList<>();
+        for (Object info : (List<?>) targets.get("targetInfos")) {
+            Map<?, ?> target = (Map<?, ?>) info;
+            if ("page".equals(target.get("type")) && tenant.browserContextId.equals(target.get("browserContextId"))) {
+                own.add(String.valueOf(target.get("targetId")));
+            }
+        }
+        Set<String> handles = new LinkedHashSet<>();
+        if (own.contains(tenant.primaryTargetId)) {
+            handles.add(tenant.primaryTargetId);
+        }
+        handles.addAll(own);
+        return handles;
+    }
+
+    /**
+     * @param webDriver Any session
+     * @return true when the session is a context leased from this multiplexer, whose browser is shared
+     */
+    boolean isTenant(WebDriver webDriver) {
+        return tenants.containsKey(webDriver);
+    }
+
+    /**
+     * Release every open context and quit the host browsers
+     */
+    public void shutdown() {
+        for (WebDriver webDriver : tenants.keySet()) {
+            release(webDriver);
+        }
+        hosts.forEach((browserType, host) -> SessionReaper.getInstance().quit(host, "context host " + browserType));
+        hosts.clear();
+        logger.info("Browser context multiplexing: {}, peak concurrent contexts={}",
+                contextCreations.summary(), peakContexts.get());
+    }
+
+    private WebDriver openContext(WebDriverFactory.BrowserType browserType, WebDriver host) {
+        long start = System.currentTimeMillis();
+        DevTools devTools = browserDevTools(host);
+        Map<String, Object> context = devTools.send(new Command<>("Target.createBrowserContext",
+                Collections.singletonMap("disposeOnDetach", false), input -> input.read(Json.MAP_TYPE)));
+        String browserContextId = String.valueOf(context.get("browserContextId"));
+
+        Map<String, Object> targetParams = new HashMap<>();
+        targetParams.put("url", "about:blank");
+        targetParams.put("browserContextId", browserContextId);
+        targetParams.put("width", 1920);
+        targetParams.put("height", 1080);
+        Map<String, Object> target = devTools.send(new Command<>("Target.createTarget",
+                targetParams, input -> input.read(Json.MAP_TYPE)));
+        String targetId = String.valueOf(target.get("targetId"));
+
+        WebDriver webDriver = null;
+        try {
+            webDriver = attach(browserType, debuggerAddress(browserType, host));
+            if (ProcessLedger.isEnabled()) {
+                ProcessLedger.getInstance().recordDescendants();
+            }
+            // ChromeDriver uses the DevTools target id as the window handle
+            webDriver.switchTo().window(targetId);
+            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+            // Both hooks attach to the current window, which is now this tenant's tab
+            if (NetworkBlocker.isEnabled()) {
+                NetworkBlocker.install(webDriver, NetworkBlocker.Mode.BLOCK);
+            }
+            if (ToastRecorder.isEnabled()) {
+                ToastRecorder.install(webDriver);
+            }
+        } catch (RuntimeException e) {
+            devTools.send(new Command<Void>("Target.disposeBrowserContext",
+                    Collections.singletonMap("browserContextId", browserContextId)));
+            if (webDriver != null) {
+                SessionReaper.getInstance().quit(webDriver, "browser context " + browserContextId);
+            }
+            throw new RuntimeException("Browser context creation failed", e);
+        }
+
+        tenants.put(webDriver, new Tenant(host, browserContextId, targetId));
+        peakContexts.accumulateAndGet(tenants.size(), Math::max);
+        contextCreations.record(System.currentTimeMillis() - start);
+        logger.info("Opened browser context {} in shared {} browser ({} active)",
+                browserContextId, browserType, tenants.size());
+        return webDriver;
+    }
+
+    private WebDriver host(WebDriverFactory.BrowserType browserType, boolean headless) {
+        return hosts.computeIfAbsent(browserType, type -> {
+            logger.info("Launching shared {} browser for context multiplexing", type);
+            return WebDriverFactory.createSession(type, LaunchProfile.fromConfig(), headless);
+        });
+    }
+
+    private static WebDriver attach(WebDriverFactory.BrowserType browserType, String debuggerAddress) {
+        DriverBinaryResolver.resolve(browserType);
+        if (browserType == WebDriverFactory.BrowserType.EDGE) {
+            EdgeOptions options = new EdgeOptions();
+            options.setExperimentalOption("debuggerAddress", debuggerAddress);
+            return DriverServicePool.isEnabled()
+                    ? new EdgeDriver((EdgeDriverService) DriverServicePool.getInstance().lease(browserType), options)
+                    : new EdgeDriver(options);
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        return DriverServicePool.isEnabled()
+                ? new ChromeDriver((ChromeDriverService) DriverServicePool.getInstance().lease(browserType), options)
+                : new ChromeDriver(options);
+    }
+
+    private static String debuggerAddress(WebDriverFactory.BrowserType browserType, WebDriver host) {
+        Capabilities capabilities = ((HasCapabilities) host).getCapabilities();
+        Object vendorOptions = capabilities.getCapability(
+                browserType == WebDriverFactory.BrowserType.EDGE ? "ms:edgeOptions" : "goog:chromeOptions");
+        if (vendorOptions instanceof Map && ((Map<?, ?>) vendorOptions).get("debuggerAddress") != null) {
+            return String.valueOf(((Map<?, ?>) vendorOptions).get("debuggerAddress"));
+        }
+        throw new IllegalStateException("Host " + browserType + " browser did not report a debugger address");
+    }
+
+    /**
+     * DevTools connection to the host's browser target. No page session is attached, so Target domain
+     * commands address the browser itself.
+     */
+    private static DevTools browserDevTools(WebDriver host) {
+        return ((HasDevTools) host).getDevTools();
+    }
+
+    private static boolean isAlive(WebDriver host) {
+        try {
+            host.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
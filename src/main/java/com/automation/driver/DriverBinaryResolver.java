@@ -0,0 +1,192 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Resolves each browser's driver binary once per JVM and memoizes the path.
+ * Binaries are looked up offline, in order: an explicit webdriver.*.driver system property, the local
+ * versioned cache directory (driver.cache.dir, laid out as &lt;driver&gt;/&lt;version&gt;/&lt;binary&gt;) and the PATH.
+ * WebDriverManager is only used to download a driver when driver.resolver.allow.network is true.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final Map<WebDriverFactory.BrowserType, String> resolvedPaths = new ConcurrentHashMap<>();
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase().contains("win");
+    private static final int CACHE_SEARCH_DEPTH = 5;
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolve the driver binary for the given browser and export it through the matching
+     * webdriver.*.driver system property so Selenium does not perform its own lookup
+     *
+     * @param browserType Browser type
+     * @return Absolute path to the driver binary
+     */
+    public static String resolve(WebDriverFactory.BrowserType browserType) {
+        long start = System.nanoTime();
+        boolean[] firstCall = {false};
+        String path = resolvedPaths.computeIfAbsent(browserType, type -> {
+            firstCall[0] = true;
+            return locate(type);
+        });
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        if (firstCall[0]) {
+            System.setProperty(systemProperty(browserType), path);
+            logger.info("Resolved {} driver to {} in {}ms", browserType, path, String.format("%.2f", elapsedMillis));
+        } else {
+            logger.debug("Resolved {} driver from memoized path in {}ms", browserType, String.format("%.3f", elapsedMillis));
+        }
+        return path;
+    }
+
+    private static String locate(WebDriverFactory.BrowserType browserType) {
+        ConfigReader config = ConfigReader.getInstance();
+        String binaryName = binaryName(browserType);
+        String pinnedVersion = config.getProperty("driver." + browserType.name().toLowerCase() + ".version");
+        Path cacheDir = Paths.get(config.getProperty("driver.cache.dir",
+                System.getProperty("user.home") + File.separator + ".cache" + File.separator + "selenium"));
+
+        String explicitPath = System.getProperty(systemProperty(browserType));
+        if (explicitPath != null && Files.isExecutable(Paths.get(explicitPath))) {
+            return explicitPath;
+        }
+
+        Optional<Path> cached = findInCache(cacheDir, binaryName, pinnedVersion);
+        if (cached.isPresent()) {
+            return cached.get().toAbsolutePath().toString();
+        }
+
+        Optional<Path> onPath = findOnPath(binaryName);
+        if (onPath.isPresent()) {
+            return onPath.get().toAbsolutePath().toString();
+        }
+
+        if (config.getBooleanProperty("driver.resolver.allow.network", false)) {
+            logger.warn("{} not found offline, downloading it into {}", binaryName, cacheDir);
+            WebDriverManager manager = driverManager(browserType).cachePath(cacheDir.toString());
+            if (pinnedVersion != null) {
+                manager.driverVersion(pinnedVersion);
+            }
+            manager.setup();
+            return manager.getDownloadedDriverPath();
+        }
+
+        throw new IllegalStateException(String.format(
+                "No %s found in driver cache %s%s or on PATH, and network resolution is disabled. "
+                        + "Populate the cache or set driver.resolver.allow.network=true",
+                binaryName, cacheDir, pinnedVersion != null ? " (version " + pinnedVersion + ")" : ""));
+    }
+
+    private static Optional<Path> findInCache(Path cacheDir, String binaryName, String pinnedVersion) {
+        if (!Files.isDirectory(cacheDir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.find(cacheDir, CACHE_SEARCH_DEPTH,
+                (path, attributes) -> attributes.isRegularFile() && path.getFileName().toString().equals(binaryName))) {
+            return files
+                    .filter(Files::isExecutable)
+                    .filter(path -> pinnedVersion == null || path.getParent().getFileName().toString().equals(pinnedVersion))
+                    .max(Comparator.comparing(path -> path.getParent().getFileName().toString(), DriverBinaryResolver::compareVersions));
+        } catch (IOException e) {
+            logger.warn("Unable to search driver cache {}", cacheDir, e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Path> findOnPath(String binaryName) {
+        String pathVariable = System.getenv("PATH");
+        if (pathVariable == null) {
+            return Optional.empty();
+        }
+        for (String directory : pathVariable.split(File.pathSeparator)) {
+            Path candidate = Paths.get(directory, binaryName);
+            if (Files.isExecutable(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static int compareVersions(String left, String right) {
+        String[] leftParts = left.split("\\.");
+        String[] rightParts = right.split("\\.");
+        for (int i = 0; i < Math.max(leftParts.length, rightParts.length); i++) {
+            int leftPart = i < leftParts.length ? parseVersionPart(leftParts[i]) : 0;
+            int rightPart = i < rightParts.length ? parseVersionPart(rightParts[i]) : 0;
+            if (leftPart != rightPart) {
+                return Integer.compare(leftPart, rightPart);
+            }
+        }
+        return 0;
+    }
+
+    private static int parseVersionPart(String part) {
+        try {
+            return Integer.parseInt(part);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String binaryName(WebDriverFactory.BrowserType browserType) {
+        String name;
+        switch (browserType) {
+            case FIREFOX:
+                name = "geckodriver";
+                break;
+            case EDGE:
+                name = "msedgedriver";
+                break;
+            case CHROME:
+                name = "chromedriver";
+                break;
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browserType);
+        }
+        return WINDOWS ? name + ".exe" : name;
+    }
+
+    private static String systemProperty(WebDriverFactory.BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            case CHROME:
+                return "webdriver.chrome.driver";
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browserType);
+        }
+    }
+
+    private static WebDriverManager driverManager(WebDriverFactory.BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return WebDriverManager.firefoxdriver();
+            case EDGE:
+                return WebDriverManager.edgedriver();
+            case CHROME:
+                return WebDriverManager.chromedriver();
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browserType);
+        }
+    }
+}
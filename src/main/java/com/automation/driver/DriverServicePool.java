@@ -0,0 +1,290 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.net.PortProber;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-JVM pool of long-lived driver server processes (chromedriver, msedgedriver, geckodriver).
+ * New sessions reuse a running service instead of spawning a fresh driver process on a fresh port.
+ * chromedriver and msedgedriver serve many sessions from one process; geckodriver serves one session
+ * at a time, so Firefox services are leased exclusively and the pool grows to the number of concurrent sessions.
+ * Quitting a session does not stop its service; services are stopped by {@link #shutdown()}.
+ */
+public class DriverServicePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverServicePool.class);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(20);
+    private static DriverServicePool instance;
+
+    private final Map<WebDriverFactory.BrowserType, List<SharedService>> services = new ConcurrentHashMap<>();
+    private final int maxSessionsPerService;
+    private final TimingStats startups = new TimingStats("Driver service startup");
+    private final AtomicInteger leases = new AtomicInteger();
+    private final AtomicInteger replacedServices = new AtomicInteger();
+
+    /**
+     * A pooled service. {@link #stop()} is what the driver calls when its session quits, so it only frees
+     * the session slot; {@link #shutdown()} stops the process.
+     */
+    private interface SharedService {
+        DriverService service();
+
+        WebDriverFactory.BrowserType browserType();
+
+        AtomicInteger activeSessions();
+
+        void shutdown();
+    }
+
+    private static final class SharedChromeDriverService extends ChromeDriverService implements SharedService {
+        private final AtomicInteger activeSessions = new AtomicInteger();
+
+        private SharedChromeDriverService(File executable, int port) throws IOException {
+            super(executable, port, STARTUP_TIMEOUT, Collections.singletonList("--port=" + port), Collections.emptyMap());
+        }
+
+        @Override
+        public void stop() {
+            getInstance().release(this);
+        }
+
+        @Override
+        public DriverService service() {
+            return this;
+        }
+
+        @Override
+        public WebDriverFactory.BrowserType browserType() {
+            return WebDriverFactory.BrowserType.CHROME;
+        }
+
+        @Override
+        public AtomicInteger activeSessions() {
+            return activeSessions;
+        }
+
+        @Override
+        public void shutdown() {
+            super.stop();
+        }
+    }
+
+    private static final class SharedEdgeDriverService extends EdgeDriverService implements SharedService {
+        private final AtomicInteger activeSessions = new AtomicInteger();
+
+        private SharedEdgeDriverService(File executable, int port) throws IOException {
+            super(executable, port, STARTUP_TIMEOUT, Collections.singletonList("--port=" + port), Collections.emptyMap());
+        }
+
+        @Override
+        public void stop() {
+            getInstance().release(this);
+        }
+
+        @Override
+        public DriverService service() {
+            return this;
+        }
+
+        @Override
+        public WebDriverFactory.BrowserType browserType() {
+            return WebDriverFactory.BrowserType.EDGE;
+        }
+
+        @Override
+        public AtomicInteger activeSessions() {
+            return activeSessions;
+        }
+
+        @Override
+        public void shutdown() {
+            super.stop();
+        }
+    }
+
+    private static final class SharedGeckoDriverService extends GeckoDriverService implements SharedService {
+        private final AtomicInteger activeSessions = new AtomicInteger();
+
+        private SharedGeckoDriverService(File executable, int port) throws IOException {
+            super(executable, port, STARTUP_TIMEOUT,
+                    Arrays.asList("--port=" + port, "--websocket-port=" + PortProber.findFreePort()),
+                    Collections.emptyMap());
+        }
+
+        @Override
+        public void stop() {
+            getInstance().release(this);
+        }
+
+        @Override
+        public DriverService service() {
+            return this;
+        }
+
+        @Override
+        public WebDriverFactory.BrowserType browserType() {
+            return WebDriverFactory.BrowserType.FIREFOX;
+        }
+
+        @Override
+        public AtomicInteger activeSessions() {
+            return activeSessions;
+        }
+
+        @Override
+        public void shutdown() {
+            super.stop();
+        }
+    }
+
+    private DriverServicePool() {
+        this.maxSessionsPerService = ConfigReader.getInstance().getIntProperty("driver.service.max.sessions", 0);
+    }
+
+    /**
+     * Get singleton instance of DriverServicePool
+     *
+     * @return DriverServicePool instance
+     */
+    public static DriverServicePool getInstance() {
+        if (instance == null) {
+            synchronized (DriverServicePool.class) {
+                if (instance == null) {
+                    instance = new DriverServicePool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("driver.service.shared", false);
+    }
+
+    /**
+     * @param browserType Browser type
+     * @return true for browsers whose local driver server can be shared
+     */
+    public static boolean supports(WebDriverFactory.BrowserType browserType) {
+        return browserType != WebDriverFactory.BrowserType.SAFARI;
+    }
+
+    /**
+     * Start a service ahead of the first session, e.g. at suite start
+     *
+     * @param browserType Browser type
+     */
+    public synchronized void start(WebDriverFactory.BrowserType browserType) {
+        if (servicesFor(browserType).isEmpty()) {
+            startService(browserType);
+        }
+    }
+
+    /**
+     * Get a running service with a free session slot, starting one if needed
+     *
+     * @param browserType Browser type
+     * @return Service to pass to the driver constructor
+     */
+    public synchronized DriverService lease(WebDriverFactory.BrowserType browserType) {
+        leases.incrementAndGet();
+        List<SharedService> candidates = servicesFor(browserType);
+        for (SharedService shared : new ArrayList<>(candidates)) {
+            if (!shared.service().isRunning()) {
+                logger.warn("{} driver service on {} is no longer running, replacing it", browserType, shared.service().getUrl());
+                candidates.remove(shared);
+                replacedServices.incrementAndGet();
+                shared.shutdown();
+                continue;
+            }
+            if (hasCapacity(shared)) {
+                shared.activeSessions().incrementAndGet();
+                return shared.service();
+            }
+        }
+        SharedService shared = startService(browserType);
+        shared.activeSessions().incrementAndGet();
+        return shared.service();
+    }
+
+    /**
+     * Stop every pooled service and log how much driver startup time reuse saved
+     */
+    public synchronized void shutdown() {
+        services.values().forEach(list -> list.forEach(SharedService::shutdown));
+        services.clear();
+        int reused = Math.max(0, leases.get() - startups.count());
+        logger.info("Shared driver services: {} lease(s), {} start(s), {} replaced; {}; ~{}ms driver startup saved by reuse",
+                leases.get(), startups.count(), replacedServices.get(), startups.summary(),
+                Math.round(reused * startups.average()));
+    }
+
+    private void release(SharedService shared) {
+        shared.activeSessions().updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    private boolean hasCapacity(SharedService shared) {
+        int active = shared.activeSessions().get();
+        if (shared.browserType() == WebDriverFactory.BrowserType.FIREFOX) {
+            // geckodriver runs a single session per process
+            return active == 0;
+        }
+        return maxSessionsPerService <= 0 || active < maxSessionsPerService;
+    }
+
+    private SharedService startService(WebDriverFactory.BrowserType browserType) {
+        File executable = new File(DriverBinaryResolver.resolve(browserType));
+        int port = PortProber.findFreePort();
+        long start = System.currentTimeMillis();
+        try {
+            SharedService shared;
+            switch (browserType) {
+                case FIREFOX:
+                    shared = new SharedGeckoDriverService(executable, port);
+                    break;
+                case EDGE:
+                    shared = new SharedEdgeDriverService(executable, port);
+                    break;
+                case CHROME:
+                    shared = new SharedChromeDriverService(executable, port);
+                    break;
+                default:
+                    throw new IllegalArgumentException("No shareable driver service for " + browserType);
+            }
+            shared.service().start();
+            if (ProcessLedger.isEnabled()) {
+                ProcessLedger.getInstance().recordDescendants();
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            startups.record(elapsed);
+            servicesFor(browserType).add(shared);
+            logger.info("Started shared {} driver service on {} in {}ms", browserType, shared.service().getUrl(), elapsed);
+            return shared;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start " + browserType + " driver service", e);
+        }
+    }
+
+    private List<SharedService> servicesFor(WebDriverFactory.BrowserType browserType) {
+        return services.computeIfAbsent(browserType, type -> new CopyOnWriteArrayList<>());
+    }
+}
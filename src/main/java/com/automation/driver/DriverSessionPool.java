@@ -0,0 +1,396 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of live browser sessions leased to test threads.
+ * Instead of launching and quitting a browser for every test method, a session is returned to the pool
+ * after the test, its state is reset (cookies, localStorage, sessionStorage, IndexedDB) and it is parked
+ * on base.url ready for the next lease. Sessions are recycled after a configurable number of uses, and every
+ * session is health-probed before it is handed out so crashed or bloated browsers are replaced transparently.
+ * <p>
+ * When pre-warmed, the pool provisions sessions on background threads: it keeps a spare session per
+ * worker thread already navigated to base.url, builds the next one while the current test runs and
+ * resets returned sessions off the test thread. Idle sessions and spare counts are kept per browser, so each
+ * browser of a matrix run has its own pool.
+ */
+public class DriverSessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverSessionPool.class);
+    private static DriverSessionPool instance;
+    private static final long PROVISION_POLL_MILLIS = 200;
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}" +
+            "if (!window.indexedDB || !window.indexedDB.databases) { done(true); return; }" +
+            "window.indexedDB.databases().then(function (dbs) {" +
+            "  return Promise.all(dbs.map(function (db) {" +
+            "    return new Promise(function (resolve) {" +
+            "      var request = window.indexedDB.deleteDatabase(db.name);" +
+            "      request.onsuccess = request.onerror = request.onblocked = function () { resolve(); };" +
+            "    });" +
+            "  }));" +
+            "}).then(function () { done(true); }, function () { done(false); });";
+
+    private final Map<WebDriverFactory.BrowserType, LinkedBlockingDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private final Map<WebDriverFactory.BrowserType, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final SessionHealthCheck healthCheck = new SessionHealthCheck();
+    private final int maxUses;
+    private final String baseUrl;
+    private final long provisionTimeoutSeconds;
+    private volatile ThreadPoolExecutor provisioner;
+    private final Map<WebDriverFactory.BrowserType, Integer> spares = new ConcurrentHashMap<>();
+    private volatile boolean provisionHeadless;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private final AtomicInteger resetFailures = new AtomicInteger();
+    private final AtomicInteger unhealthyReplaced = new AtomicInteger();
+    private final TimingStats creationTimes = new TimingStats("Session creation");
+    private final TimingStats resetTimes = new TimingStats("Session reset");
+    private final TimingStats leaseWaits = new TimingStats("Lease wait on test thread");
+    private final AtomicLong hiddenCreationMillis = new AtomicLong();
+    private final AtomicInteger backgroundLeases = new AtomicInteger();
+
+    private DriverSessionPool() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.maxUses = config.getIntProperty("driver.pool.max.uses", 25);
+        this.baseUrl = config.getProperty("base.url", "http://localhost:3000");
+        this.provisionTimeoutSeconds = config.getLongProperty("driver.prewarm.timeout.seconds", 60);
+    }
+
+    /**
+     * Get singleton instance of DriverSessionPool
+     *
+     * @return DriverSessionPool instance
+     */
+    public static DriverSessionPool getInstance() {
+        if (instance == null) {
+            synchronized (DriverSessionPool.class) {
+                if (instance == null) {
+                    instance = new DriverSessionPool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Lease a session for the given browser, reusing an idle one when available
+     *
+     * @param browserType Browser type
+     * @param headless    Whether a newly created browser should run headless
+     * @return Leased session
+     */
+    public PooledSession lease(WebDriverFactory.BrowserType browserType, boolean headless) {
+        long start = System.currentTimeMillis();
+        PooledSession session = nextHealthyIdle(browserType);
+
+        if (session != null) {
+            hits.incrementAndGet();
+            if (session.isProvisionedInBackground() && session.getUses() == 0) {
+                backgroundLeases.incrementAndGet();
+                // Only the part of the creation the test thread did not sit through waiting for it was hidden
+                long waited = System.currentTimeMillis() - start;
+                hiddenCreationMillis.addAndGet(Math.max(0, session.getCreationMillis() - waited));
+            }
+            logger.info("Session pool hit: reusing {}", session);
+        } else {
+            misses.incrementAndGet();
+            session = createSession(browserType, headless);
+            logger.info("Session pool miss: created {} in {}ms", session, session.getCreationMillis());
+        }
+
+        leaseWaits.record(System.currentTimeMillis() - start);
+        replenish(browserType);
+        return session;
+    }
+
+    /**
+     * Start background provisioning and pre-warm sessions ahead of test demand.
+     * The pool then keeps the given number of spare sessions ready on base.url.
+     *
+     * @param browserType Browser type
+     * @param headless    Whether browsers should run headless
+     * @param spareCount  Number of spare sessions to keep ready, typically the suite thread-count
+     */
+    public synchronized void prewarm(WebDriverFactory.BrowserType browserType, boolean headless, int spareCount) {
+        spares.merge(browserType, spareCount, Math::max);
+        // One provisioning thread per spare session across all browsers, e.g. every browser of a matrix run
+        int provisioningThreads = Math.max(1, spares.values().stream().mapToInt(Integer::intValue).sum());
+        if (provisioner == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            provisioner = (ThreadPoolExecutor) Executors.newFixedThreadPool(provisioningThreads, runnable -> {
+                Thread thread = new Thread(runnable, "session-provisioner-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else if (provisioner.getMaximumPoolSize() < provisioningThreads) {
+            provisioner.setMaximumPoolSize(provisioningThreads);
+            provisioner.setCorePoolSize(provisioningThreads);
+        }
+        provisionHeadless = headless;
+        logger.info("Pre-warming {} {} session(s)", spareCount, browserType);
+        replenish(browserType);
+    }
+
+    /**
+     * Return a leased session to the pool. The session is reset and parked on base.url,
+     * or quit when it has reached the configured number of uses or cannot be reset.
+     *
+     * @param session Session previously obtained from {@link #lease}
+     */
+    public void release(PooledSession session) {
+        session.incrementUses();
+        session.setAtBaseUrl(false);
+
+        if (session.getUses() >= maxUses) {
+            logger.info("Recycling {} after {} uses", session, session.getUses());
+            recycled.incrementAndGet();
+            quit(session);
+            replenish(session.getBrowserType());
+            return;
+        }
+
+        ExecutorService executor = provisioner;
+        if (executor != null) {
+            // Count the session as in flight while it resets so waiting leases pick it up and no extra one is built
+            inFlightCount(session.getBrowserType()).incrementAndGet();
+            executor.submit(() -> {
+                try {
+                    resetAndPark(session);
+                } finally {
+                    inFlightCount(session.getBrowserType()).decrementAndGet();
+                }
+                replenish(session.getBrowserType());
+            });
+        } else {
+            resetAndPark(session);
+        }
+    }
+
+    /**
+     * Hand every idle session to the {@link SessionReaper} and log the pool statistics
+     */
+    public void shutdown() {
+        ExecutorService executor = provisioner;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(provisionTimeoutSeconds, TimeUnit.SECONDS)) {
+                    logger.warn("Session provisioning did not finish within {}s", provisionTimeoutSeconds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (LinkedBlockingDeque<PooledSession> queue : idleSessions.values()) {
+            PooledSession session;
+            while ((session = queue.pollFirst()) != null) {
+                quit(session);
+            }
+        }
+        logSummary();
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public void logSummary() {
+        logger.info("Session pool: hits={}, misses={}, recycled={}, resetFailures={}, unhealthyReplaced={}",
+                hits.get(), misses.get(), recycled.get(), resetFailures.get(), unhealthyReplaced.get());
+        logger.info("Session pool: {}", creationTimes.summary());
+        logger.info("Session pool: {}", resetTimes.summary());
+        logger.info("Session pool: {}", leaseWaits.summary());
+        if (provisioner != null) {
+            logger.info("Session pool: {} pre-provisioned session(s) leased, {}ms of session creation hidden from the critical path",
+                    backgroundLeases.get(), hiddenCreationMillis.get());
+        }
+    }
+
+    PooledSession createSession(WebDriverFactory.BrowserType browserType, boolean headless) {
+        long start = System.currentTimeMillis();
+        WebDriver webDriver = WebDriverFactory.createSession(browserType, headless);
+        long elapsed = System.currentTimeMillis() - start;
+        creationTimes.record(elapsed);
+        return new PooledSession(webDriver, browserType, elapsed);
+    }
+
+    private void replenish(WebDriverFactory.BrowserType browserType) {
+        ExecutorService executor = provisioner;
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        AtomicInteger pending = inFlightCount(browserType);
+        int spareCount = spares.getOrDefault(browserType, 0);
+        while (idleQueue(browserType).size() + pending.get() < spareCount) {
+            pending.incrementAndGet();
+            executor.submit(() -> provision(browserType, provisionHeadless));
+        }
+    }
+
+    private void provision(WebDriverFactory.BrowserType browserType, boolean headless) {
+        try {
+            PooledSession session = createSession(browserType, headless);
+            session.setProvisionedInBackground(true);
+            session.getDriver().get(baseUrl);
+            session.setAtBaseUrl(true);
+            idleQueue(browserType).offerLast(session);
+            logger.info("Provisioned {} in the background in {}ms", session, session.getCreationMillis());
+        } catch (Exception e) {
+            logger.error("Background session provisioning failed for {}", browserType, e);
+        } finally {
+            inFlightCount(browserType).decrementAndGet();
+        }
+    }
+
+    private PooledSession nextHealthyIdle(WebDriverFactory.BrowserType browserType) {
+        while (true) {
+            PooledSession session = idleQueue(browserType).pollFirst();
+            if (session == null && inFlightCount(browserType).get() > 0) {
+                // A session is already being built in the background; waiting for it beats starting another
+                session = awaitProvisioned(browserType);
+            }
+            if (session == null || healthCheck.isHealthy(session)) {
+                return session;
+            }
+            // Replace the dead or bloated session transparently and try the next one
+            unhealthyReplaced.incrementAndGet();
+            quit(session);
+        }
+    }
+
+    /**
+     * Wait for a background session, giving up as soon as nothing is in flight any more, e.g. because provisioning
+     * failed, instead of sitting out the whole prewarm timeout
+     */
+    private PooledSession awaitProvisioned(WebDriverFactory.BrowserType browserType) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(provisionTimeoutSeconds);
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                PooledSession session = idleQueue(browserType).pollFirst(PROVISION_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (session != null) {
+                    return session;
+                }
+                if (inFlightCount(browserType).get() == 0) {
+                    // A session is parked before the in-flight count drops, so one last look cannot miss it
+                    return idleQueue(browserType).pollFirst();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private void resetAndPark(PooledSession session) {
+        if (!healthCheck.isHealthy(session)) {
+            unhealthyReplaced.incrementAndGet();
+            quit(session);
+            return;
+        }
+        if (reset(session)) {
+            idleQueue(session.getBrowserType()).offerFirst(session);
+        } else {
+            resetFailures.incrementAndGet();
+            quit(session);
+        }
+    }
+
+    boolean reset(PooledSession session) {
+        long start = System.currentTimeMillis();
+        WebDriver webDriver = session.getDriver();
+        try {
+            dismissAlert(webDriver);
+            closeExtraWindows(webDriver);
+
+            // Storage is scoped to the origin, so make sure the app origin is loaded before clearing it
+            if (!webDriver.getCurrentUrl().startsWith(origin(baseUrl))) {
+                webDriver.get(baseUrl);
+            }
+            ((JavascriptExecutor) webDriver).executeAsyncScript(CLEAR_STORAGE_SCRIPT);
+            webDriver.manage().deleteAllCookies();
+            webDriver.get(baseUrl);
+
+            session.setAtBaseUrl(true);
+            long elapsed = System.currentTimeMillis() - start;
+            resetTimes.record(elapsed);
+            logger.debug("Reset {} in {}ms", session, elapsed);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset {}, discarding it", session, e);
+            return false;
+        }
+    }
+
+    void quit(PooledSession session) {
+        // A hung browser can take long to quit, so the reaper does it off the calling thread
+        logger.info(session.healthSummary());
+        SessionReaper.getInstance().quit(session.getDriver(), session.toString());
+    }
+
+    private AtomicInteger inFlightCount(WebDriverFactory.BrowserType browserType) {
+        return inFlight.computeIfAbsent(browserType, type -> new AtomicInteger());
+    }
+
+    private LinkedBlockingDeque<PooledSession> idleQueue(WebDriverFactory.BrowserType browserType) {
+        return idleSessions.computeIfAbsent(browserType, type -> new LinkedBlockingDeque<>());
+    }
+
+    private void dismissAlert(WebDriver webDriver) {
+        try {
+            webDriver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // Nothing to dismiss
+        }
+    }
+
+    private void closeExtraWindows(WebDriver webDriver) {
+        // A multiplexed session must only close its own tabs, not those of tests sharing the browser
+        Set<String> handles = BrowserContextMultiplexer.isEnabled()
+                ? BrowserContextMultiplexer.getInstance().windowHandles(webDriver)
+                : webDriver.getWindowHandles();
+        if (handles.size() <= 1) {
+            return;
+        }
+        String primary = handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(primary)) {
+                webDriver.switchTo().window(handle);
+                webDriver.close();
+            }
+        }
+        webDriver.switchTo().window(primary);
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+}
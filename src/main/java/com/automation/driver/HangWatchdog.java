@@ -0,0 +1,356 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TestDurationHistory;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Detects tests that hang, e.g. on an unexpected alert or a dead renderer, and frees their worker thread.
+ * Every running test is given a time limit of watchdog.p99.multiplier times its historical p99 duration, bounded by
+ * watchdog.floor.seconds and watchdog.ceiling.seconds; tests with fewer than watchdog.min.samples passing runs get
+ * the ceiling. A test that exceeds its limit gets a thread dump, screenshot, open alert text and browser log written
+ * to build/reports/hangs, then its session's process tree is killed so the blocked command fails. If the worker is
+ * still stuck after watchdog.interrupt.grace.seconds it is interrupted.
+ */
+public class HangWatchdog {
+
+    private static final Logger logger = LoggerFactory.getLogger(HangWatchdog.class);
+    private static final Path REPORT_DIR = Paths.get("build", "reports", "hangs");
+    private static HangWatchdog instance;
+
+    private final TestDurationHistory history;
+    private final Map<Object, Watch> active = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService monitor;
+    private final ExecutorService responders;
+    private final double multiplier;
+    private final long floorMillis;
+    private final long ceilingMillis;
+    private final int minSamples;
+    private final long captureTimeoutSeconds;
+    private final long interruptGraceSeconds;
+    private final AtomicInteger hangs = new AtomicInteger();
+
+    /**
+     * Outcome of a test the watchdog stopped
+     */
+    public static final class Hang {
+        private final String testId;
+        private final long elapsedMillis;
+        private final long limitMillis;
+        private final Path diagnostics;
+        private final String action;
+
+        private Hang(String testId, long elapsedMillis, long limitMillis, Path diagnostics, String action) {
+            this.testId = testId;
+            this.elapsedMillis = elapsedMillis;
+            this.limitMillis = limitMillis;
+            this.diagnostics = diagnostics;
+            this.action = action;
+        }
+
+        public Path getDiagnostics() {
+            return diagnostics;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s hung: no progress after %dms (limit %dms); %s; diagnostics in %s",
+                    testId, elapsedMillis, limitMillis, action, diagnostics);
+        }
+    }
+
+    private static final class Watch {
+        private final String testId;
+        private final Thread worker;
+        private final WebDriver webDriver;
+        private final long startMillis;
+        private final long limitMillis;
+        private volatile boolean fired;
+        private volatile Hang hang;
+
+        private Watch(String testId, Thread worker, WebDriver webDriver, long startMillis, long limitMillis) {
+            this.testId = testId;
+            this.worker = worker;
+            this.webDriver = webDriver;
+            this.startMillis = startMillis;
+            this.limitMillis = limitMillis;
+        }
+    }
+
+    private HangWatchdog() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.history = new TestDurationHistory(
+                Paths.get(config.getProperty("watchdog.history.file", "build/test-durations.json")),
+                config.getIntProperty("watchdog.history.size", 50));
+        this.multiplier = Double.parseDouble(config.getProperty("watchdog.p99.multiplier", "2.0"));
+        this.floorMillis = TimeUnit.SECONDS.toMillis(config.getLongProperty("watchdog.floor.seconds", 30));
+        this.ceilingMillis = TimeUnit.SECONDS.toMillis(config.getLongProperty("watchdog.ceiling.seconds", 300));
+        this.minSamples = config.getIntProperty("watchdog.min.samples", 5);
+        this.captureTimeoutSeconds = config.getLongProperty("watchdog.capture.timeout.seconds", 10);
+        this.interruptGraceSeconds = config.getLongProperty("watchdog.interrupt.grace.seconds", 5);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hang-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.responders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "hang-watchdog-responder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollMillis = config.getLongProperty("watchdog.poll.ms", 1000);
+        monitor.scheduleWithFixedDelay(this::checkAll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get singleton instance of HangWatchdog
+     *
+     * @return HangWatchdog instance
+     */
+    public static HangWatchdog getInstance() {
+        if (instance == null) {
+            synchronized (HangWatchdog.class) {
+                if (instance == null) {
+                    instance = new HangWatchdog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("watchdog.enabled", false);
+    }
+
+    /**
+     * Start watching the test running on the current thread
+     *
+     * @param key       Key identifying the test invocation, e.g. its ITestResult
+     * @param testId    Stable test identifier the duration history is kept under
+     * @param webDriver Session the test runs on, or null
+     * @return Time limit in milliseconds
+     */
+    public long start(Object key, String testId, WebDriver webDriver) {
+        long limit = limitFor(testId);
+        active.put(key, new Watch(testId, Thread.currentThread(), webDriver, System.currentTimeMillis(), limit));
+        return limit;
+    }
+
+    /**
+     * Stop watching a test. Durations of passing tests that did not hang are added to the history.
+     *
+     * @param key    Key passed to {@link #start}
+     * @param passed Whether the test passed
+     * @return The hang, when the watchdog stopped the test; null otherwise
+     */
+    public Hang stop(Object key, boolean passed) {
+        Watch watch = active.remove(key);
+        if (watch == null) {
+            return null;
+        }
+        if (watch.fired) {
+            // Wait for the diagnostics so the hang is reported complete
+            synchronized (watch) {
+                return watch.hang;
+            }
+        }
+        if (passed) {
+            history.record(watch.testId, System.currentTimeMillis() - watch.startMillis);
+        }
+        return null;
+    }
+
+    /**
+     * @param testId Test identifier
+     * @return Time limit for the test in milliseconds
+     */
+    public long limitFor(String testId) {
+        if (history.count(testId) < minSamples) {
+            return ceilingMillis;
+        }
+        long limit = Math.round(history.percentile(testId, 99) * multiplier);
+        return Math.max(floorMillis, Math.min(ceilingMillis, limit));
+    }
+
+    /**
+     * Stop watching, persist the duration history and log how many tests were stopped. The next suite in the same
+     * JVM gets a fresh watchdog from {@link #getInstance()}.
+     */
+    public static void shutdown() {
+        synchronized (HangWatchdog.class) {
+            if (instance != null) {
+                instance.stop();
+                instance = null;
+            }
+        }
+    }
+
+    private void stop() {
+        monitor.shutdownNow();
+        responders.shutdown();
+        history.save();
+        if (hangs.get() > 0) {
+            logger.warn("Hang watchdog stopped {} hung test(s); diagnostics in {}", hangs.get(), REPORT_DIR.toAbsolutePath());
+        } else {
+            logger.info("Hang watchdog: no hung tests");
+        }
+    }
+
+    private void checkAll() {
+        long now = System.currentTimeMillis();
+        for (Watch watch : active.values()) {
+            if (!watch.fired && now - watch.startMillis > watch.limitMillis) {
+                watch.fired = true;
+                responders.submit(() -> respond(watch));
+            }
+        }
+    }
+
+    private void respond(Watch watch) {
+        synchronized (watch) {
+            if (!active.containsValue(watch)) {
+                // Finished just as it crossed the limit; its session may already serve the next test
+                return;
+            }
+            long elapsed = System.currentTimeMillis() - watch.startMillis;
+            hangs.incrementAndGet();
+            logger.error("{} exceeded its {}ms limit after {}ms, capturing diagnostics", watch.testId, watch.limitMillis, elapsed);
+
+            Path directory = REPORT_DIR.resolve(watch.testId.replaceAll("[^A-Za-z0-9._-]", "_") + "-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")));
+            try {
+                Files.createDirectories(directory);
+                writeThreadDump(directory.resolve("threads.txt"), watch.worker);
+            } catch (IOException e) {
+                logger.warn("Failed to write thread dump for {}", watch.testId, e);
+            }
+            if (watch.webDriver != null) {
+                captureBrowserState(watch.webDriver, directory);
+            }
+            String action = release(watch.webDriver);
+            watch.hang = new Hang(watch.testId, elapsed, watch.limitMillis, directory, action);
+            logger.error("{}", watch.hang);
+        }
+
+        try {
+            TimeUnit.SECONDS.sleep(interruptGraceSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (active.containsValue(watch)) {
+            logger.error("{} is still blocked {}s after its session was released, interrupting {}",
+                    watch.testId, interruptGraceSeconds, watch.worker.getName());
+            watch.worker.interrupt();
+        }
+    }
+
+    /**
+     * Save the open alert, a screenshot and the browser console log. Each capture runs with its own deadline,
+     * since the session may not answer at all.
+     */
+    private void captureBrowserState(WebDriver webDriver, Path directory) {
+        capture("alert text", () -> {
+            String text = webDriver.switchTo().alert().getText();
+            Files.write(directory.resolve("alert.txt"), text.getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+        capture("screenshot", () -> {
+            if (webDriver instanceof TakesScreenshot) {
+                Files.write(directory.resolve("screenshot.png"), ((TakesScreenshot) webDriver).getScreenshotAs(OutputType.BYTES));
+            }
+            return null;
+        });
+        capture("browser log", () -> {
+            List<String> lines = new ArrayList<>();
+            for (LogEntry entry : webDriver.manage().logs().get(LogType.BROWSER)) {
+                lines.add(entry.toString());
+            }
+            Files.write(directory.resolve("browser.log"), lines, StandardCharsets.UTF_8);
+            return null;
+        });
+    }
+
+    private void capture(String what, Callable<Void> action) {
+        Future<Void> future = responders.submit(action);
+        try {
+            future.get(captureTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            future.cancel(true);
+            logger.debug("Could not capture {}: {}", what, e.getMessage());
+        }
+    }
+
+    /**
+     * Make the session's blocked command fail: dispose its browser context when multiplexed, otherwise kill the
+     * local process tree behind it, or ask a remote hub to end the session
+     */
+    private String release(WebDriver webDriver) {
+        if (webDriver == null) {
+            return "no session to release";
+        }
+        if (BrowserContextMultiplexer.isEnabled() && BrowserContextMultiplexer.getInstance().release(webDriver)) {
+            return "disposed its browser context";
+        }
+        long rootPid = SessionProcessSampler.findRootProcess(webDriver);
+        if (rootPid > 0) {
+            List<ProcessHandle> tree = new ArrayList<>();
+            ProcessHandle.of(rootPid).ifPresent(root -> {
+                root.descendants().forEach(tree::add);
+                tree.add(root);
+            });
+            tree.forEach(ProcessHandle::destroyForcibly);
+            return "killed " + tree.size() + " process(es) under pid " + rootPid;
+        }
+        SessionReaper.getInstance().quit(webDriver, "session of hung test");
+        return "requested the session to quit";
+    }
+
+    private static void writeThreadDump(Path file, Thread worker) throws IOException {
+        List<String> lines = new ArrayList<>();
+        Map<Thread, StackTraceElement[]> stacks = Thread.getAllStackTraces();
+        // The hung worker first, then everything else
+        appendStack(lines, worker, stacks.getOrDefault(worker, worker.getStackTrace()));
+        stacks.forEach((thread, stack) -> {
+            if (thread != worker) {
+                appendStack(lines, thread, stack);
+            }
+        });
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static void appendStack(List<String> lines, Thread thread, StackTraceElement[] stack) {
+        lines.add(String.format("\"%s\" %s%s", thread.getName(), thread.getState(), thread.isDaemon() ? " daemon" : ""));
+        for (StackTraceElement element : stack) {
+            lines.add("\tat " + element);
+        }
+        lines.add("");
+    }
+}
@@ -0,0 +1,245 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Named browser launch profiles selectable through the browser.launch.profile configuration key
+ */
+public enum LaunchProfile {
+
+    /**
+     * Headless browser stripped of first-run work, extensions, background networking and component
+     * updates, using the eager page load strategy. Optimised for time-to-first-command.
+     */
+    FAST_HEADLESS("fast-headless"),
+
+    /**
+     * Headed, maximized browser with default page loading, for stepping through tests locally
+     */
+    DEBUG("debug"),
+
+    /**
+     * The option set sessions always used, closest to a real user's browser; honours the headless flag
+     */
+    FIDELITY("fidelity"),
+
+    /**
+     * Headless Chrome/Edge tuned for the most concurrent browsers per GB of RAM: few renderer processes, no
+     * background services, small caches and a small fixed window. Trades some page load latency for memory.
+     */
+    HIGH_DENSITY("high-density");
+
+    private static final String WINDOW_SIZE = "1920,1080";
+    private static final String DENSITY_WINDOW_SIZE = "1024,768";
+
+    private final String profileName;
+
+    LaunchProfile(String profileName) {
+        this.profileName = profileName;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Get the profile configured through browser.launch.profile, defaulting to {@link #FIDELITY}
+     *
+     * @return Configured launch profile
+     */
+    public static LaunchProfile fromConfig() {
+        return fromName(ConfigReader.getInstance().getProperty("browser.launch.profile", FIDELITY.profileName));
+    }
+
+    public static LaunchProfile fromName(String name) {
+        for (LaunchProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name) || profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown launch profile: " + name);
+    }
+
+    /**
+     * @return true when the window should be maximized after launch instead of using a fixed window size
+     */
+    public boolean maximizeWindow() {
+        return this != FAST_HEADLESS && this != HIGH_DENSITY;
+    }
+
+    public ChromeOptions chromeOptions(boolean headless) {
+        ChromeOptions options = new ChromeOptions();
+        if (this == FIDELITY) {
+            // The option set sessions were created with before launch profiles existed, unchanged
+            options.addArguments("--disable-web-security");
+            options.addArguments("--disable-features=VizDisplayCompositor");
+            options.addArguments("--no-sandbox");
+            options.addArguments("--disable-dev-shm-usage");
+            options.addArguments("--disable-gpu");
+            options.addArguments("--remote-allow-origins=*");
+            if (headless) {
+                options.addArguments("--headless");
+            }
+            return options;
+        }
+        applyChromiumArguments(options, headless);
+        return options;
+    }
+
+    public EdgeOptions edgeOptions(boolean headless) {
+        EdgeOptions options = new EdgeOptions();
+        if (this == FIDELITY) {
+            options.addArguments("--disable-web-security");
+            options.addArguments("--no-sandbox");
+            options.addArguments("--disable-dev-shm-usage");
+            options.addArguments("--remote-allow-origins=*");
+            if (headless) {
+                options.addArguments("--headless");
+            }
+            return options;
+        }
+        applyChromiumArguments(options, headless);
+        return options;
+    }
+
+    public FirefoxOptions firefoxOptions(boolean headless) {
+        FirefoxOptions options = new FirefoxOptions();
+        if (isHeadless(headless)) {
+            options.addArguments("--headless");
+        }
+
+        switch (this) {
+            case FAST_HEADLESS:
+                options.addArguments("--width=1920", "--height=1080");
+                options.addPreference("browser.shell.checkDefaultBrowser", false);
+                options.addPreference("browser.startup.homepage_override.mstone", "ignore");
+                options.addPreference("app.update.auto", false);
+                options.addPreference("app.update.enabled", false);
+                options.addPreference("extensions.update.enabled", false);
+                options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+                options.addPreference("toolkit.telemetry.enabled", false);
+                options.addPreference("network.prefetch-next", false);
+                options.addPreference("browser.safebrowsing.malware.enabled", false);
+                options.addPreference("browser.safebrowsing.phishing.enabled", false);
+                options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                break;
+            case HIGH_DENSITY:
+                ConfigReader config = ConfigReader.getInstance();
+                String[] size = config.getProperty("browser.density.window.size", DENSITY_WINDOW_SIZE).split(",");
+                options.addArguments("--width=" + size[0].trim(), "--height=" + size[1].trim());
+                options.addPreference("dom.ipc.processCount",
+                        config.getIntProperty("browser.density.renderer.process.limit", 2));
+                options.addPreference("browser.cache.disk.capacity",
+                        config.getIntProperty("browser.density.disk.cache.mb", 16) * 1024);
+                options.addPreference("browser.sessionhistory.max_total_viewers", 0);
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                break;
+            case DEBUG:
+                options.addPreference("devtools.console.stdout.content", true);
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                break;
+            default:
+                // Fidelity keeps the browser defaults
+                break;
+        }
+        return options;
+    }
+
+    /**
+     * @param headless Headless flag from the run configuration
+     * @return Whether the browser launches headless under this profile
+     */
+    public boolean isHeadless(boolean headless) {
+        switch (this) {
+            case FAST_HEADLESS:
+            case HIGH_DENSITY:
+                return true;
+            case DEBUG:
+                return false;
+            default:
+                return headless;
+        }
+    }
+
+    private void applyChromiumArguments(ChromiumOptions<?> options, boolean headless) {
+        options.addArguments("--disable-web-security");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--remote-allow-origins=*");
+
+        if (isHeadless(headless)) {
+            options.addArguments("--headless=new");
+        }
+
+        switch (this) {
+            case FAST_HEADLESS:
+                options.addArguments("--window-size=" + WINDOW_SIZE);
+                options.addArguments("--disable-gpu");
+                options.addArguments("--disable-extensions");
+                options.addArguments("--disable-background-networking");
+                options.addArguments("--disable-component-update");
+                options.addArguments("--disable-default-apps");
+                options.addArguments("--disable-sync");
+                options.addArguments("--disable-background-timer-throttling");
+                options.addArguments("--disable-backgrounding-occluded-windows");
+                options.addArguments("--disable-renderer-backgrounding");
+                options.addArguments("--disable-features=Translate,OptimizationHints,MediaRouter,DialMediaRouteProvider");
+                options.addArguments("--no-first-run");
+                options.addArguments("--no-default-browser-check");
+                options.addArguments("--metrics-recording-only");
+                options.addArguments("--password-store=basic");
+                options.addArguments("--mute-audio");
+                options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                break;
+            case HIGH_DENSITY:
+                ConfigReader config = ConfigReader.getInstance();
+                int diskCacheBytes = config.getIntProperty("browser.density.disk.cache.mb", 16) * 1024 * 1024;
+                options.addArguments("--window-size="
+                        + config.getProperty("browser.density.window.size", DENSITY_WINDOW_SIZE));
+                options.addArguments("--force-device-scale-factor=1");
+                options.addArguments("--renderer-process-limit="
+                        + config.getIntProperty("browser.density.renderer.process.limit", 2));
+                // Site isolation and the back/forward cache each keep extra renderers alive
+                options.addArguments("--disable-site-isolation-trials");
+                options.addArguments("--disable-features=IsolateOrigins,BackForwardCache,"
+                        + "Translate,OptimizationHints,MediaRouter,DialMediaRouteProvider,PaintHolding");
+                // Capping V8's old space can run the app under test out of memory, so it is off unless configured
+                int jsHeapMb = config.getIntProperty("browser.density.js.heap.mb", 0);
+                if (jsHeapMb > 0) {
+                    options.addArguments("--js-flags=--max-old-space-size=" + jsHeapMb);
+                }
+                options.addArguments("--disk-cache-size=" + diskCacheBytes);
+                options.addArguments("--media-cache-size=" + diskCacheBytes);
+                options.addArguments("--aggressive-cache-discard");
+                options.addArguments("--disable-gpu");
+                options.addArguments("--disable-software-rasterizer");
+                options.addArguments("--disable-extensions");
+                options.addArguments("--disable-background-networking");
+                options.addArguments("--disable-component-update");
+                options.addArguments("--disable-default-apps");
+                options.addArguments("--disable-sync");
+                options.addArguments("--disable-breakpad");
+                options.addArguments("--disable-client-side-phishing-detection");
+                options.addArguments("--disable-domain-reliability");
+                options.addArguments("--no-first-run");
+                options.addArguments("--no-default-browser-check");
+                options.addArguments("--metrics-recording-only");
+                options.addArguments("--password-store=basic");
+                options.addArguments("--mute-audio");
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                break;
+            case DEBUG:
+                options.addArguments("--no-first-run");
+                options.addArguments("--no-default-browser-check");
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                break;
+            default:
+                throw new IllegalStateException("Chromium arguments of " + this + " are built by the options method");
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.DevToolsException;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DevTools-based request blocking for Chromium sessions.
+ * Requests matching the configured URL patterns (network.blocking.url.patterns) or resource types
+ * (network.blocking.resource.types, e.g. Image, Font, Media) are paused through the Fetch domain and
+ * failed before they reach the network. In {@link Mode#MEASURE} nothing is blocked; the Network domain
+ * is observed instead to count the requests and bytes the rules would have blocked.
+ */
+public class NetworkBlocker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkBlocker.class);
+    private static final Map<WebDriver, NetworkBlocker> blockers = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicInteger totalBlockedRequests = new AtomicInteger();
+    private static final Map<String, AtomicInteger> totalBlockedByType = new ConcurrentHashMap<>();
+    private static final AtomicInteger totalMeasuredRequests = new AtomicInteger();
+    private static final AtomicLong totalMeasuredBytes = new AtomicLong();
+
+    public enum Mode {
+        BLOCK, MEASURE
+    }
+
+    private final Mode mode;
+    private final List<String> urlPatterns;
+    private final Set<String> resourceTypes;
+    private final List<Pattern> urlRegexes;
+    private final AtomicInteger matchedRequests = new AtomicInteger();
+    private final AtomicLong matchedBytes = new AtomicLong();
+    private final Set<String> measuredRequestIds = ConcurrentHashMap.newKeySet();
+
+    NetworkBlocker(Mode mode, List<String> urlPatterns, Set<String> resourceTypes) {
+        this.mode = mode;
+        this.urlPatterns = urlPatterns;
+        this.resourceTypes = resourceTypes;
+        this.urlRegexes = urlPatterns.stream().map(NetworkBlocker::globToRegex).collect(Collectors.toList());
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("network.blocking.enabled", false);
+    }
+
+    /**
+     * Install the configured blocking rules on the session's current window. Must run before the window's first
+     * navigation.
+     *
+     * @param webDriver Session to install on
+     * @param mode      Block matching requests, or only measure what would be blocked
+     * @return The installed blocker, or null when the session is not a local Chromium session or DevTools refused
+     * the rules
+     */
+    public static NetworkBlocker install(WebDriver webDriver, Mode mode) {
+        if (!(webDriver instanceof ChromiumDriver)) {
+            logger.debug("Network blocking skipped: {} is not a Chromium session", webDriver.getClass().getSimpleName());
+            return null;
+        }
+        ConfigReader config = ConfigReader.getInstance();
+        NetworkBlocker blocker = new NetworkBlocker(mode,
+                splitList(config.getProperty("network.blocking.url.patterns", "")),
+                splitList(config.getProperty("network.blocking.resource.types", "")).stream().collect(Collectors.toSet()));
+
+        try {
+            DevTools devTools = ((ChromiumDriver) webDriver).getDevTools();
+            devTools.createSessionIfThereIsNotOne(webDriver.getWindowHandle());
+            if (mode == Mode.BLOCK) {
+                blocker.enableBlocking(devTools);
+            } else {
+                blocker.enableMeasuring(devTools);
+            }
+        } catch (DevToolsException e) {
+            logger.warn("Network blocking skipped: DevTools refused the rules ({})", e.getMessage());
+            return null;
+        }
+        blockers.put(webDriver, blocker);
+        logger.info("Network {} installed for URL patterns {} and resource types {}",
+                mode == Mode.BLOCK ? "blocking" : "measuring", blocker.urlPatterns, blocker.resourceTypes);
+        return blocker;
+    }
+
+    public static NetworkBlocker forDriver(WebDriver webDriver) {
+        return blockers.get(webDriver);
+    }
+
+    /**
+     * @return Requests blocked (or, in measure mode, requests that matched the rules) on this session
+     */
+    public int getMatchedRequests() {
+        return matchedRequests.get();
+    }
+
+    /**
+     * @return Encoded bytes transferred by matching requests; only known in measure mode
+     */
+    public long getMatchedBytes() {
+        return matchedBytes.get();
+    }
+
+    /**
+     * Log what the rules matched. Bytes are only known in measure mode: blocked requests never reach the network,
+     * so their size is not reported by the browser.
+     */
+    public static void logSummary() {
+        if (totalBlockedRequests.get() > 0) {
+            logger.info("Network blocking: {} request(s) blocked, by resource type: {}; bytes saved unknown in block "
+                            + "mode (measure with NetworkBlockingBenchmark or Mode.MEASURE)",
+                    totalBlockedRequests.get(), totalBlockedByType);
+        }
+        if (totalMeasuredRequests.get() > 0) {
+            logger.info("Network blocking (measure only): {} request(s) matched the rules, {}KB transferred that "
+                    + "blocking would save", totalMeasuredRequests.get(), totalMeasuredBytes.get() / 1024);
+        }
+    }
+
+    private void enableBlocking(DevTools devTools) {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String urlPattern : urlPatterns) {
+            patterns.add(requestPattern(urlPattern, null));
+        }
+        for (String resourceType : resourceTypes) {
+            patterns.add(requestPattern("*", resourceType));
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+
+        devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                paused -> {
+                    String resourceType = String.valueOf(paused.get("resourceType"));
+                    matchedRequests.incrementAndGet();
+                    totalBlockedRequests.incrementAndGet();
+                    totalBlockedByType.computeIfAbsent(resourceType, type -> new AtomicInteger()).incrementAndGet();
+
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("requestId", paused.get("requestId"));
+                    params.put("errorReason", "BlockedByClient");
+                    devTools.send(new Command<Void>("Fetch.failRequest", params));
+                });
+        devTools.send(new Command<Void>("Fetch.enable", Collections.singletonMap("patterns", patterns)));
+    }
+
+    private void enableMeasuring(DevTools devTools) {
+        devTools.addListener(new Event<Map<String, Object>>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE)),
+                sent -> {
+                    Object request = sent.get("request");
+                    String url = request instanceof Map ? String.valueOf(((Map<?, ?>) request).get("url")) : "";
+                    if (matches(url, String.valueOf(sent.get("type")))) {
+                        matchedRequests.incrementAndGet();
+                        totalMeasuredRequests.incrementAndGet();
+                        measuredRequestIds.add(String.valueOf(sent.get("requestId")));
+                    }
+                });
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE)),
+                finished -> {
+                    if (measuredRequestIds.remove(String.valueOf(finished.get("requestId")))) {
+                        Object length = finished.get("encodedDataLength");
+                        if (length instanceof Number) {
+                            matchedBytes.addAndGet(((Number) length).longValue());
+                            totalMeasuredBytes.addAndGet(((Number) length).longValue());
+                        }
+                    }
+                });
+        devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+    }
+
+    private boolean matches(String url, String resourceType) {
+        if (resourceTypes.contains(resourceType)) {
+            return true;
+        }
+        for (Pattern regex : urlRegexes) {
+            if (regex.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Object> requestPattern(String urlPattern, String resourceType) {
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("urlPattern", urlPattern);
+        pattern.put("requestStage", "Request");
+        if (resourceType != null) {
+            pattern.put("resourceType", resourceType);
+        }
+        return pattern;
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.automation.driver;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A live browser session owned by {@link DriverSessionPool} together with its usage bookkeeping
+ */
+public class PooledSession {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final int id;
+    private final WebDriver driver;
+    private final WebDriverFactory.BrowserType browserType;
+    private final long creationMillis;
+    private int uses;
+    private volatile boolean atBaseUrl;
+    private volatile boolean provisionedInBackground;
+    private int probes;
+    private int probeFailures;
+    private long totalProbeMillis;
+    private long lastProbeMillis;
+    private long peakRssBytes = -1;
+    private volatile long processRootPid;
+
+    PooledSession(WebDriver driver, WebDriverFactory.BrowserType browserType, long creationMillis) {
+        this.id = SEQUENCE.incrementAndGet();
+        this.driver = driver;
+        this.browserType = browserType;
+        this.creationMillis = creationMillis;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public WebDriverFactory.BrowserType getBrowserType() {
+        return browserType;
+    }
+
+    /**
+     * @return Time in milliseconds it took to create this session
+     */
+    public long getCreationMillis() {
+        return creationMillis;
+    }
+
+    /**
+     * @return Number of tests that have leased this session so far
+     */
+    public int getUses() {
+        return uses;
+    }
+
+    void incrementUses() {
+        uses++;
+    }
+
+    /**
+     * @return true when the session was reset and parked on base.url and has not been navigated since
+     */
+    public boolean isAtBaseUrl() {
+        return atBaseUrl;
+    }
+
+    void setAtBaseUrl(boolean atBaseUrl) {
+        this.atBaseUrl = atBaseUrl;
+    }
+
+    /**
+     * @return true when the session was created by the pool's background provisioner rather than on a test thread
+     */
+    public boolean isProvisionedInBackground() {
+        return provisionedInBackground;
+    }
+
+    void setProvisionedInBackground(boolean provisionedInBackground) {
+        this.provisionedInBackground = provisionedInBackground;
+    }
+
+    /**
+     * @return Local process the session's driver and browser processes descend from; 0 until looked up, -1 if none
+     */
+    long getProcessRootPid() {
+        return processRootPid;
+    }
+
+    void setProcessRootPid(long processRootPid) {
+        this.processRootPid = processRootPid;
+    }
+
+    synchronized void recordProbe(long probeMillis, long rssBytes) {
+        probes++;
+        totalProbeMillis += probeMillis;
+        lastProbeMillis = probeMillis;
+        peakRssBytes = Math.max(peakRssBytes, rssBytes);
+    }
+
+    synchronized void recordProbeFailure() {
+        probes++;
+        probeFailures++;
+    }
+
+    public synchronized int getProbeFailures() {
+        return probeFailures;
+    }
+
+    /**
+     * @return Health stats for this session: probe count, failures, probe latency and peak process RSS
+     */
+    public synchronized String healthSummary() {
+        long succeeded = probes - probeFailures;
+        return String.format("%s health: probes=%d, failures=%d, avgProbe=%.1fms, lastProbe=%dms, peakRss=%s",
+                this, probes, probeFailures, succeeded > 0 ? (double) totalProbeMillis / succeeded : 0.0,
+                lastProbeMillis, peakRssBytes >= 0 ? peakRssBytes / (1024 * 1024) + "MB" : "n/a");
+    }
+
+    @Override
+    public String toString() {
+        return "session-" + id + " (" + browserType + ", uses=" + uses + ")";
+    }
+}
@@ -0,0 +1,219 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ProcessMemory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Crash-safe record of the driver and browser processes a run spawns.
+ * Every process started by this JVM is appended to a per-run ledger file under driver.ledger.dir, keyed by pid
+ * and start time so a recycled pid is never mistaken for one of ours. A JVM shutdown hook kills whatever is still
+ * running and removes the ledger. When a run dies without its hook (SIGKILL, killed surefire fork), the next
+ * suite start finds the ledger, kills the leftovers and reports the memory reclaimed.
+ */
+public class ProcessLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessLedger.class);
+    private static final String LEDGER_PREFIX = "run-";
+    private static final String LEDGER_SUFFIX = ".ledger";
+    private static ProcessLedger instance;
+
+    private final Path ledgerFile;
+    private final Set<Long> recorded = ConcurrentHashMap.newKeySet();
+
+    private ProcessLedger(Path ledgerDirectory) {
+        this.ledgerFile = ledgerDirectory.resolve(LEDGER_PREFIX + ProcessHandle.current().pid() + LEDGER_SUFFIX);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::killRecordedProcesses, "process-ledger-shutdown"));
+    }
+
+    /**
+     * Get singleton instance of ProcessLedger
+     *
+     * @return ProcessLedger instance
+     */
+    public static ProcessLedger getInstance() {
+        if (instance == null) {
+            synchronized (ProcessLedger.class) {
+                if (instance == null) {
+                    instance = new ProcessLedger(ledgerDirectory());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("driver.ledger.enabled", false);
+    }
+
+    /**
+     * Kill processes left behind by earlier runs that died, when driver.ledger.enabled is set. Call at suite start.
+     */
+    public static void reconcileIfConfigured() {
+        if (isEnabled()) {
+            getInstance().reconcile();
+        }
+    }
+
+    /**
+     * Append every live process spawned by this JVM that is not yet in the ledger
+     */
+    public synchronized void recordDescendants() {
+        List<String> lines = ProcessHandle.current().descendants()
+                .filter(process -> recorded.add(process.pid()))
+                .map(ProcessLedger::entry)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(ledgerFile.getParent());
+            Files.write(ledgerFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Failed to update process ledger {}", ledgerFile, e);
+        }
+    }
+
+    /**
+     * Kill the recorded processes of every earlier run whose JVM is gone, and delete their ledgers
+     */
+    public void reconcile() {
+        Path directory = ledgerFile.getParent();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        int orphans = 0;
+        long reclaimedBytes = 0;
+        Set<Long> killed = new HashSet<>();
+        try (DirectoryStream<Path> ledgers = Files.newDirectoryStream(directory, LEDGER_PREFIX + "*" + LEDGER_SUFFIX)) {
+            for (Path ledger : ledgers) {
+                if (ledger.equals(ledgerFile) || isOwnerAlive(ledger)) {
+                    continue;
+                }
+                for (ProcessHandle process : liveEntries(ledger).values()) {
+                    if (!killed.contains(process.pid())) {
+                        reclaimedBytes += kill(process, killed);
+                        orphans++;
+                    }
+                }
+                Files.deleteIfExists(ledger);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to reconcile process ledgers in {}", directory, e);
+        }
+        if (orphans > 0) {
+            logger.warn("Killed {} orphaned driver/browser process(es) from earlier runs, reclaimed {}MB",
+                    orphans, reclaimedBytes / (1024 * 1024));
+        } else {
+            logger.info("No orphaned driver/browser processes from earlier runs");
+        }
+    }
+
+    private void killRecordedProcesses() {
+        try {
+            if (!Files.exists(ledgerFile)) {
+                return;
+            }
+            Set<Long> killed = new HashSet<>();
+            for (ProcessHandle process : liveEntries(ledgerFile).values()) {
+                kill(process, killed);
+            }
+            Files.deleteIfExists(ledgerFile);
+            if (!killed.isEmpty()) {
+                logger.warn("Killed {} driver/browser process(es) still running at JVM exit", killed.size());
+            }
+        } catch (Exception e) {
+            // Never fail JVM shutdown; the next run reconciles what is left
+        }
+    }
+
+    /**
+     * Read a ledger and return its processes that are still running with the recorded start time
+     */
+    private static Map<Long, ProcessHandle> liveEntries(Path ledger) throws IOException {
+        Map<Long, ProcessHandle> live = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(ledger, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(" ", 3);
+            if (fields.length < 2) {
+                continue;
+            }
+            try {
+                long pid = Long.parseLong(fields[0]);
+                long startMillis = Long.parseLong(fields[1]);
+                ProcessHandle.of(pid)
+                        .filter(ProcessHandle::isAlive)
+                        .filter(process -> process.info().startInstant().map(Instant::toEpochMilli).orElse(-1L) == startMillis)
+                        .ifPresent(process -> live.put(pid, process));
+            } catch (NumberFormatException e) {
+                // Torn write from a killed run
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Kill a process and its descendants
+     *
+     * @param process Process to kill
+     * @param killed  Pids killed so far; members already in it are skipped and new ones are added
+     * @return Resident bytes the killed processes held
+     */
+    private static long kill(ProcessHandle process, Set<Long> killed) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        process.descendants().forEach(tree::add);
+        tree.add(process);
+        long residentBytes = 0;
+        for (ProcessHandle member : tree) {
+            if (killed.add(member.pid())) {
+                residentBytes += Math.max(0, ProcessMemory.residentBytes(member.pid()));
+                member.destroyForcibly();
+            }
+        }
+        logger.debug("Killed orphaned process {} ({})", process.pid(), process.info().command().orElse("unknown"));
+        return residentBytes;
+    }
+
+    private static boolean isOwnerAlive(Path ledger) {
+        String name = ledger.getFileName().toString();
+        try {
+            long ownerPid = Long.parseLong(name.substring(LEDGER_PREFIX.length(), name.length() - LEDGER_SUFFIX.length()));
+            return ProcessHandle.of(ownerPid)
+                    .filter(ProcessHandle::isAlive)
+                    .flatMap(owner -> owner.info().command())
+                    .map(command -> command.contains("java"))
+                    .orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Optional<String> entry(ProcessHandle process) {
+        return process.info().startInstant().map(start -> process.pid() + " " + start.toEpochMilli() + " "
+                + process.info().command().orElse("unknown"));
+    }
+
+    private static Path ledgerDirectory() {
+        return Paths.get(ConfigReader.getInstance().getProperty("driver.ledger.dir",
+                Paths.get("build", "process-ledger").toString()));
+    }
+}
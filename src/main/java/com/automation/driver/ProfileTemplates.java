@@ -0,0 +1,229 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Golden browser profiles cloned per session.
+ * At suite start one profile per browser is warmed by visiting base.url once, so first-run work is done and the
+ * app's bundles sit in the HTTP and code caches. Every new local session then starts from a copy of that profile
+ * under driver.profile.clone.root (tmpfs /dev/shm by default). Every file is copied: the browser rewrites cache
+ * index and entry files in place, so a hardlinked cache would let one session corrupt the template and its
+ * siblings. Clones are deleted on the reaper thread after the session quits.
+ */
+public class ProfileTemplates {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTemplates.class);
+    private static final String NAVIGATION_TIME_SCRIPT =
+            "var navigation = performance.getEntriesByType('navigation')[0];" +
+            "return navigation ? Math.round(navigation.loadEventEnd || navigation.domComplete) : -1;";
+    // Per-profile lock files; a clone must not look like a profile that is already in use
+    private static final Set<String> LOCK_FILES = new HashSet<>(Arrays.asList(
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "lock", ".parentlock", "parent.lock"));
+    private static ProfileTemplates instance;
+
+    private final Path cloneRoot;
+    private final Map<WebDriverFactory.BrowserType, Path> templates = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Path> clones = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicInteger cloneSequence = new AtomicInteger();
+    private final TimingStats cloneTimes = new TimingStats("Profile clone");
+
+    private ProfileTemplates() {
+        Path defaultRoot = Files.isDirectory(Paths.get("/dev/shm"))
+                ? Paths.get("/dev/shm", "selenium-profiles")
+                : Paths.get(System.getProperty("java.io.tmpdir"), "selenium-profiles");
+        this.cloneRoot = Paths.get(ConfigReader.getInstance().getProperty("driver.profile.clone.root", defaultRoot.toString()))
+                .resolve("run-" + ProcessHandle.current().pid());
+    }
+
+    /**
+     * Get singleton instance of ProfileTemplates
+     *
+     * @return ProfileTemplates instance
+     */
+    public static ProfileTemplates getInstance() {
+        if (instance == null) {
+            synchronized (ProfileTemplates.class) {
+                if (instance == null) {
+                    instance = new ProfileTemplates();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("driver.profile.template.enabled", false);
+    }
+
+    /**
+     * @param browserType Browser type
+     * @return true for browsers launched with an explicit profile directory
+     */
+    public static boolean supports(WebDriverFactory.BrowserType browserType) {
+        return browserType != WebDriverFactory.BrowserType.SAFARI;
+    }
+
+    /**
+     * Build the golden profile for a browser by launching it on an empty profile directory and loading base.url once
+     *
+     * @param browserType Browser type
+     * @param headless    Headless flag used for the warm-up session
+     * @return Milliseconds the cold first navigation took
+     */
+    public synchronized long buildTemplate(WebDriverFactory.BrowserType browserType, boolean headless) {
+        Path template = cloneRoot.resolve("golden-" + browserType.name().toLowerCase());
+        String baseUrl = ConfigReader.getInstance().getProperty("base.url", "http://localhost:3000");
+        long start = System.currentTimeMillis();
+        try {
+            deleteRecursively(template);
+            Files.createDirectories(template);
+
+            WebDriver webDriver = WebDriverFactory.createLocalDriver(browserType, LaunchProfile.fromConfig(), headless, template);
+            long coldNavigation;
+            try {
+                coldNavigation = firstNavigationMillis(webDriver, baseUrl);
+            } finally {
+                // Quit synchronously so the browser flushes its caches to disk before the profile is cloned
+                webDriver.quit();
+            }
+
+            templates.put(browserType, template);
+            logger.info("Built {} profile template in {}ms at {} (cold first navigation to {}: {}ms)",
+                    browserType, System.currentTimeMillis() - start, template, baseUrl, coldNavigation);
+            return coldNavigation;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to build " + browserType + " profile template", e);
+        }
+    }
+
+    public boolean hasTemplate(WebDriverFactory.BrowserType browserType) {
+        return templates.containsKey(browserType);
+    }
+
+    /**
+     * Create a new session profile directory from the browser's template
+     *
+     * @param browserType Browser type
+     * @return Clone directory, or null when no template was built for the browser
+     */
+    public Path cloneTemplate(WebDriverFactory.BrowserType browserType) {
+        Path template = templates.get(browserType);
+        if (template == null) {
+            return null;
+        }
+        Path clone = cloneRoot.resolve(browserType.name().toLowerCase() + "-" + cloneSequence.incrementAndGet());
+        long start = System.currentTimeMillis();
+        try (Stream<Path> paths = Files.walk(template)) {
+            for (Path source : paths.collect(Collectors.toList())) {
+                Path target = clone.resolve(template.relativize(source).toString());
+                if (Files.isSymbolicLink(source) || LOCK_FILES.contains(source.getFileName().toString())) {
+                    continue;
+                }
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        } catch (IOException e) {
+            discard(clone);
+            throw new RuntimeException("Failed to clone " + browserType + " profile template", e);
+        }
+        cloneTimes.record(System.currentTimeMillis() - start);
+        return clone;
+    }
+
+    /**
+     * Remember which clone a session runs on, so it is deleted once the session has quit
+     */
+    void track(WebDriver webDriver, Path clone) {
+        clones.put(webDriver, clone);
+    }
+
+    /**
+     * Delete the session's profile clone. Called by the {@link SessionReaper} after the session quit.
+     */
+    static void release(WebDriver webDriver) {
+        ProfileTemplates templates = instance;
+        if (templates != null) {
+            Path clone = templates.clones.remove(webDriver);
+            if (clone != null) {
+                templates.discard(clone);
+            }
+        }
+    }
+
+    void discard(Path clone) {
+        try {
+            deleteRecursively(clone);
+        } catch (IOException e) {
+            logger.warn("Failed to delete profile clone {}", clone, e);
+        }
+    }
+
+    /**
+     * Delete the templates and any clones left behind, and log clone timings
+     */
+    public synchronized void shutdown() {
+        logger.info("Profile templates: {}", cloneTimes.summary());
+        try {
+            deleteRecursively(cloneRoot);
+        } catch (IOException e) {
+            logger.warn("Failed to delete profile directory {}", cloneRoot, e);
+        }
+        templates.clear();
+    }
+
+    /**
+     * Load a page on a fresh session and read how long the navigation took
+     *
+     * @param webDriver New session
+     * @param url       Page to load
+     * @return Navigation duration until the load event, in milliseconds
+     */
+    public static long firstNavigationMillis(WebDriver webDriver, String url) {
+        webDriver.get(url);
+        new WebDriverWait(webDriver, Duration.ofSeconds(30)).until(d -> "complete".equals(
+                ((JavascriptExecutor) d).executeScript("return document.readyState")));
+        Object navigation = ((JavascriptExecutor) webDriver).executeScript(NAVIGATION_TIME_SCRIPT);
+        return navigation instanceof Number ? ((Number) navigation).longValue() : -1;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
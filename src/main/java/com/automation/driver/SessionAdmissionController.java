@@ -0,0 +1,176 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client-side admission queue for remote sessions (grid.hub.url and BrowserStack).
+ * Each platform has session.admission.max.sessions slots, or parallelsPerPlatform from browserstack.yml when that
+ * is 0. Test threads wait for a slot in FIFO order before the session request is sent, so the hub never sees more
+ * requests than it has slots. A slot is held until the session is quit. Threads that cannot get a slot within
+ * session.admission.timeout.seconds fail with an explicit error instead of waiting silently in a hub-side queue.
+ * The time each thread spent queued is kept for the running test.
+ */
+public class SessionAdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionAdmissionController.class);
+    private static final ThreadLocal<Long> queueWaitMillis = ThreadLocal.withInitial(() -> 0L);
+    private static SessionAdmissionController instance;
+
+    private final int maxSessions;
+    private final long timeoutSeconds;
+    private final Map<String, Semaphore> slots = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Semaphore> admitted = Collections.synchronizedMap(new WeakHashMap<>());
+    private final TimingStats queueWaits = new TimingStats("Session admission queue wait");
+    private final AtomicInteger peakQueueLength = new AtomicInteger();
+    private final AtomicInteger timeouts = new AtomicInteger();
+
+    private SessionAdmissionController() {
+        ConfigReader config = ConfigReader.getInstance();
+        int configured = config.getIntProperty("session.admission.max.sessions", 0);
+        this.maxSessions = configured > 0 ? configured : parallelsPerPlatform(Paths.get("browserstack.yml"));
+        this.timeoutSeconds = config.getLongProperty("session.admission.timeout.seconds", 600);
+    }
+
+    /**
+     * Get singleton instance of SessionAdmissionController
+     *
+     * @return SessionAdmissionController instance
+     */
+    public static SessionAdmissionController getInstance() {
+        if (instance == null) {
+            synchronized (SessionAdmissionController.class) {
+                if (instance == null) {
+                    instance = new SessionAdmissionController();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("session.admission.enabled", false);
+    }
+
+    /**
+     * Wait for a free slot on the platform, then create the session
+     *
+     * @param platform Platform the slot limit applies to, e.g. "chrome" or "edge@Windows 11"
+     * @param creator  Creates the remote session
+     * @return New session, holding its slot until it is quit
+     */
+    public WebDriver admit(String platform, Callable<WebDriver> creator) throws Exception {
+        if (maxSessions <= 0) {
+            return creator.call();
+        }
+        Semaphore platformSlots = slots.computeIfAbsent(platform, key -> new Semaphore(maxSessions, true));
+        peakQueueLength.accumulateAndGet(platformSlots.getQueueLength() + 1, Math::max);
+
+        long start = System.currentTimeMillis();
+        if (!platformSlots.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+            timeouts.incrementAndGet();
+            throw new IllegalStateException(String.format(
+                    "No %s session slot became free within %ds: all %d slot(s) are in use and %d thread(s) are queued. "
+                            + "Lower the suite thread-count or raise parallelsPerPlatform / session.admission.max.sessions.",
+                    platform, timeoutSeconds, maxSessions, platformSlots.getQueueLength()));
+        }
+        long waited = System.currentTimeMillis() - start;
+        queueWaits.record(waited);
+        queueWaitMillis.set(queueWaitMillis.get() + waited);
+        if (waited > 0) {
+            logger.info("Admitted {} session after {}ms in queue ({} of {} slot(s) free)",
+                    platform, waited, platformSlots.availablePermits(), maxSessions);
+        }
+
+        try {
+            WebDriver webDriver = creator.call();
+            admitted.put(webDriver, platformSlots);
+            return webDriver;
+        } catch (Exception | Error e) {
+            platformSlots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Free the slot of a session that has been quit. Called by the {@link SessionReaper}.
+     */
+    static void release(WebDriver webDriver) {
+        SessionAdmissionController controller = instance;
+        if (controller != null) {
+            Semaphore platformSlots = controller.admitted.remove(webDriver);
+            if (platformSlots != null) {
+                platformSlots.release();
+            }
+        }
+    }
+
+    /**
+     * Add queue wait that was spent on another thread on behalf of the current one, e.g. by a hedged attempt
+     */
+    static void recordQueueWait(long millis) {
+        queueWaitMillis.set(queueWaitMillis.get() + millis);
+    }
+
+    /**
+     * Return the queue wait accumulated on the current thread since the last call and reset it
+     *
+     * @return Milliseconds spent waiting for a session slot
+     */
+    public static long drainQueueWaitMillis() {
+        long waited = queueWaitMillis.get();
+        queueWaitMillis.set(0L);
+        return waited;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void logSummary() {
+        if (queueWaits.count() == 0) {
+            return;
+        }
+        logger.info("Session admission ({} slot(s) per platform): {}, peak queue length={}, {} timeout(s)",
+                maxSessions, queueWaits.summary(), peakQueueLength.get(), timeouts.get());
+    }
+
+    /**
+     * Read parallelsPerPlatform from a BrowserStack SDK configuration file
+     *
+     * @return The configured value, or 0 (unlimited) when the file or key is missing
+     */
+    private static int parallelsPerPlatform(Path browserStackConfig) {
+        if (!Files.exists(browserStackConfig)) {
+            return 0;
+        }
+        try {
+            for (String line : Files.readAllLines(browserStackConfig, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (trimmed.startsWith("parallelsPerPlatform:")) {
+                    return Integer.parseInt(trimmed.substring("parallelsPerPlatform:".length()).trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not read parallelsPerPlatform from {}", browserStackConfig, e);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ProcessMemory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ConnectException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight liveness probe for pooled sessions.
+ * A cheap script round-trip runs with a tight deadline before a session is handed to a test, so a crashed
+ * renderer or unresponsive browser is detected in milliseconds instead of surfacing as implicit-wait or
+ * page-load timeouts inside the test. Sessions whose driver and browser processes have grown past
+ * driver.health.max.rss.mb of resident memory are retired too, which catches leaks that survive navigation, unlike
+ * the page's own JS heap. Memory is read from /proc, so only on Linux and for local sessions that own their browser;
+ * multiplexed browser contexts share one browser and are not checked.
+ * <p>
+ * A probe stuck on an unresponsive browser keeps its thread until the pool quits that session, so probes run on a
+ * small bounded pool; when every probe thread is stuck the session is treated as unhealthy instead of adding threads.
+ */
+public class SessionHealthCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionHealthCheck.class);
+    private static final String PROBE_SCRIPT = "return document.readyState;";
+    private static final int MAX_PROBE_THREADS = 4;
+    private static final String[] CRASH_MESSAGES = {
+            "session deleted because of page crash",
+            "tab crashed",
+            "chrome not reachable",
+            "browser has closed the connection",
+            "invalid session id",
+            "target window already closed",
+            "disconnected: not connected to devtools"
+    };
+
+    private final boolean enabled;
+    private final long probeTimeoutMillis;
+    private final long maxRssBytes;
+    private final ExecutorService probeExecutor;
+
+    SessionHealthCheck() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.enabled = isEnabled();
+        this.probeTimeoutMillis = config.getLongProperty("driver.health.probe.timeout.ms", 2000);
+        this.maxRssBytes = config.getLongProperty("driver.health.max.rss.mb", 1024) * 1024 * 1024;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.probeExecutor = new ThreadPoolExecutor(0, MAX_PROBE_THREADS, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "session-health-probe-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("driver.health.enabled", false);
+    }
+
+    /**
+     * Probe the session and record the outcome in its health stats
+     *
+     * @param session Session to probe
+     * @return true when the session responded within the deadline and its processes are below the memory threshold
+     */
+    boolean isHealthy(PooledSession session) {
+        if (!enabled) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        Future<Object> probe;
+        try {
+            probe = probeExecutor.submit(() -> ((JavascriptExecutor) session.getDriver()).executeScript(PROBE_SCRIPT));
+        } catch (RejectedExecutionException e) {
+            session.recordProbeFailure();
+            logger.warn("Not probing {}: every probe thread is stuck on an unresponsive session", session);
+            return false;
+        }
+        try {
+            probe.get(probeTimeoutMillis, TimeUnit.MILLISECONDS);
+            long rssBytes = residentBytes(session);
+            session.recordProbe((System.nanoTime() - start) / 1_000_000, rssBytes);
+
+            if (rssBytes > maxRssBytes) {
+                logger.info("Retiring {}: driver and browser processes use {}MB, more than {}MB", session,
+                        rssBytes / (1024 * 1024), maxRssBytes / (1024 * 1024));
+                return false;
+            }
+            return true;
+        } catch (TimeoutException e) {
+            probe.cancel(true);
+            session.recordProbeFailure();
+            logger.warn("{} did not answer the health probe within {}ms", session, probeTimeoutMillis);
+            return false;
+        } catch (ExecutionException e) {
+            session.recordProbeFailure();
+            logger.warn("{} failed the health probe: {}", session, e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Resident memory of the session's local driver and browser process tree
+     *
+     * @return Bytes, or -1 for remote sessions, multiplexed contexts and platforms without /proc
+     */
+    private static long residentBytes(PooledSession session) {
+        // A multiplexed context resolves to its attached driver process only; the browser is shared by all contexts
+        if (!ProcessMemory.isSupported() || (BrowserContextMultiplexer.isEnabled()
+                && BrowserContextMultiplexer.getInstance().isTenant(session.getDriver()))) {
+            return -1;
+        }
+        if (session.getProcessRootPid() == 0) {
+            session.setProcessRootPid(SessionProcessSampler.findRootProcess(session.getDriver()));
+        }
+        long rootPid = session.getProcessRootPid();
+        return rootPid < 0 ? -1 : SessionProcessSampler.treeResidentBytes(rootPid);
+    }
+
+    /**
+     * Check whether a failure was caused by the browser session dying rather than by the test itself
+     *
+     * @param throwable Test failure
+     * @return true for crashed renderers, unreachable browsers and lost sessions
+     */
+    public static boolean isSessionCrash(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoSuchSessionException || cause instanceof ConnectException) {
+                return true;
+            }
+            if (cause instanceof WebDriverException && cause.getMessage() != null) {
+                String message = cause.getMessage().toLowerCase();
+                for (String crashMessage : CRASH_MESSAGES) {
+                    if (message.contains(crashMessage)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,226 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedged session creation. A session start that is still running after the browser's historical
+ * session.hedging.percentile start time gets a second, concurrent attempt; the first attempt to succeed wins and
+ * the other session is quit through the {@link SessionReaper} as soon as it arrives.
+ * Hedging cannot snowball: a start is hedged at most once, hedges are limited to session.hedging.max.ratio of all
+ * starts, and a start fails once every attempt has run past session.hedging.attempt.timeout.seconds.
+ */
+public class SessionHedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionHedger.class);
+    private static SessionHedger instance;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long initialDelayMillis;
+    private final long attemptTimeoutMillis;
+    private final double maxHedgeRatio;
+    private final ExecutorService attempts;
+    private final Map<String, TimingStats> attemptTimes = new ConcurrentHashMap<>();
+    private final TimingStats startTimes = new TimingStats("Hedged session start time");
+    private final AtomicInteger starts = new AtomicInteger();
+    private final AtomicInteger hedges = new AtomicInteger();
+    private final AtomicInteger hedgeWins = new AtomicInteger();
+    private final AtomicInteger losersQuit = new AtomicInteger();
+
+    private SessionHedger() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.percentile = Double.parseDouble(config.getProperty("session.hedging.percentile", "90"));
+        this.minSamples = config.getIntProperty("session.hedging.min.samples", 10);
+        this.initialDelayMillis = config.getLongProperty("session.hedging.initial.delay.ms", 5000);
+        this.attemptTimeoutMillis = config.getLongProperty("session.hedging.attempt.timeout.seconds", 120) * 1000;
+        this.maxHedgeRatio = Double.parseDouble(config.getProperty("session.hedging.max.ratio", "0.1"));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.attempts = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "session-hedge-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get singleton instance of SessionHedger
+     *
+     * @return SessionHedger instance
+     */
+    public static SessionHedger getInstance() {
+        if (instance == null) {
+            synchronized (SessionHedger.class) {
+                if (instance == null) {
+                    instance = new SessionHedger();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("session.hedging.enabled", false);
+    }
+
+    /**
+     * Start a session, hedging with a second attempt when the first one runs long
+     *
+     * @param key     Start-time history the hedge delay is taken from, e.g. the browser name
+     * @param creator Creates one session; called from attempt threads, at most twice
+     * @return The first session that started successfully
+     */
+    public WebDriver create(String key, Callable<WebDriver> creator) throws Exception {
+        TimingStats history = attemptTimes.computeIfAbsent(key, name -> new TimingStats(name + " session start"));
+        long hedgeDelay = history.count() >= minSamples ? history.percentile(percentile) : initialDelayMillis;
+        int start = starts.incrementAndGet();
+
+        CompletionService<Attempt> completion = new ExecutorCompletionService<>(attempts);
+        long startedAt = System.currentTimeMillis();
+        completion.submit(() -> attempt(creator, history, false));
+        int running = 1;
+        long deadline = startedAt + attemptTimeoutMillis;
+
+        Future<Attempt> done = completion.poll(hedgeDelay, TimeUnit.MILLISECONDS);
+        if (done == null && tryReserveHedge(Math.max(1, (int) (start * maxHedgeRatio)))) {
+            logger.info("{} session not ready after {}ms, starting a hedged attempt", key, hedgeDelay);
+            completion.submit(() -> attempt(creator, history, true));
+            running++;
+            deadline = System.currentTimeMillis() + attemptTimeoutMillis;
+        }
+
+        Exception failure = null;
+        while (running > 0) {
+            if (done == null) {
+                done = completion.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    abandon(completion, running, key);
+                    throw new IllegalStateException(String.format(
+                            "%s session did not start within the %ds attempt budget (%d attempt(s))",
+                            key, attemptTimeoutMillis / 1000, running));
+                }
+            }
+            running--;
+            try {
+                Attempt winner = done.get();
+                startTimes.record(System.currentTimeMillis() - startedAt);
+                SessionAdmissionController.recordQueueWait(winner.queueWaitMillis);
+                if (winner.hedge) {
+                    hedgeWins.incrementAndGet();
+                }
+                abandon(completion, running, key);
+                return winner.webDriver;
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                logger.warn("{} session attempt failed: {}", key, failure.getMessage());
+                done = null;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Count a hedge if the cap allows one more; check and increment are one atomic step, so concurrent starts
+     * cannot both take the last hedge
+     */
+    private boolean tryReserveHedge(int maxHedges) {
+        int current;
+        do {
+            current = hedges.get();
+            if (current >= maxHedges) {
+                return false;
+            }
+        } while (!hedges.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Wait for abandoned attempts to hand their sessions to the reaper, then log the hedging statistics
+     */
+    public void shutdown() {
+        attempts.shutdown();
+        try {
+            if (!attempts.awaitTermination(attemptTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("Abandoned session attempts still running after {}ms", attemptTimeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logSummary();
+    }
+
+    public void logSummary() {
+        if (starts.get() == 0) {
+            return;
+        }
+        logger.info("Session hedging: {} start(s), {} hedged, {} won by the hedge, {} losing session(s) quit; {}",
+                starts.get(), hedges.get(), hedgeWins.get(), losersQuit.get(), startTimes.summary());
+    }
+
+    public int getHedgeCount() {
+        return hedges.get();
+    }
+
+    public int getLosersQuit() {
+        return losersQuit.get();
+    }
+
+    private Attempt attempt(Callable<WebDriver> creator, TimingStats history, boolean hedge) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        WebDriver webDriver = creator.call();
+        history.record(System.currentTimeMillis() - startedAt);
+        // Queue wait is kept per thread; carry it back to the test thread
+        return new Attempt(webDriver, hedge, SessionAdmissionController.drainQueueWaitMillis());
+    }
+
+    /**
+     * Quit the sessions of attempts still running once they arrive, off the test thread
+     */
+    private void abandon(CompletionService<Attempt> completion, int running, String key) {
+        if (running == 0) {
+            return;
+        }
+        attempts.execute(() -> {
+            for (int i = 0; i < running; i++) {
+                try {
+                    Attempt loser = completion.take().get();
+                    losersQuit.incrementAndGet();
+                    SessionReaper.getInstance().quit(loser.webDriver, "losing " + key + " session attempt");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    logger.debug("Abandoned {} session attempt failed", key, e.getCause());
+                }
+            }
+        });
+    }
+
+    private static final class Attempt {
+        private final WebDriver webDriver;
+        private final boolean hedge;
+        private final long queueWaitMillis;
+
+        private Attempt(WebDriver webDriver, boolean hedge, long queueWaitMillis) {
+            this.webDriver = webDriver;
+            this.hedge = hedge;
+            this.queueWaitMillis = queueWaitMillis;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ProcessMemory;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Samples the memory and CPU time of each local session's process tree (driver process, browser and its
+ * renderer/GPU/utility children) from /proc on Linux. A session's tree is found through the driver
+ * process listening on the session's port or, when driver processes are shared, through the browser
+ * process using the session's profile directory. Samples are attributed to whoever started tracking the session,
+ * normally the test currently leasing it, and summarised as peak/average RSS and CPU time.
+ */
+public class SessionProcessSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionProcessSampler.class);
+    // USER_HZ; 100 on every mainstream Linux distribution
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+    private static SessionProcessSampler instance;
+
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Object, Tracking> active = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Long> driverProcessIds = Collections.synchronizedMap(new WeakHashMap<>());
+    private final List<Usage> completed = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong peakTotalRssBytes = new AtomicLong();
+
+    /**
+     * Resource usage of one session's process tree over a tracked interval
+     */
+    public static final class Usage {
+        private final String label;
+        private final long peakRssBytes;
+        private final long averageRssBytes;
+        private final long cpuMillis;
+        private final long wallMillis;
+        private final int samples;
+
+        Usage(String label, long peakRssBytes, long averageRssBytes, long cpuMillis, long wallMillis, int samples) {
+            this.label = label;
+            this.peakRssBytes = peakRssBytes;
+            this.averageRssBytes = averageRssBytes;
+            this.cpuMillis = cpuMillis;
+            this.wallMillis = wallMillis;
+            this.samples = samples;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getPeakRssMb() {
+            return peakRssBytes / (1024 * 1024);
+        }
+
+        public long getAverageRssMb() {
+            return averageRssBytes / (1024 * 1024);
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        /**
+         * @return Average CPU utilisation over the interval; can exceed 100 for multi-process browsers
+         */
+        public double getAverageCpuPercent() {
+            return wallMillis == 0 ? 0 : cpuMillis * 100.0 / wallMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Browser processes: peak RSS=%dMB, avg RSS=%dMB, CPU=%dms (avg %.0f%%), samples=%d",
+                    getPeakRssMb(), getAverageRssMb(), cpuMillis, getAverageCpuPercent(), samples);
+        }
+    }
+
+    private static final class Tracking {
+        private final String label;
+        private final long rootPid;
+        private final long startMillis = System.currentTimeMillis();
+        private final long startCpuTicks;
+        private long peakRssBytes;
+        private long totalRssBytes;
+        private long lastRssBytes;
+        private int samples;
+
+        private Tracking(String label, long rootPid) {
+            this.label = label;
+            this.rootPid = rootPid;
+            this.startCpuTicks = treeCpuTicks(rootPid);
+        }
+
+        private synchronized void sample() {
+            long rss = treeResidentBytes(rootPid);
+            if (rss <= 0) {
+                return;
+            }
+            lastRssBytes = rss;
+            peakRssBytes = Math.max(peakRssBytes, rss);
+            totalRssBytes += rss;
+            samples++;
+        }
+
+        private synchronized Usage finish() {
+            sample();
+            long cpuMillis = Math.max(0, treeCpuTicks(rootPid) - startCpuTicks) * 1000 / CLOCK_TICKS_PER_SECOND;
+            return new Usage(label, peakRssBytes, samples == 0 ? 0 : totalRssBytes / samples, cpuMillis,
+                    System.currentTimeMillis() - startMillis, samples);
+        }
+    }
+
+    private SessionProcessSampler() {
+        this.intervalMillis = ConfigReader.getInstance().getLongProperty("metrics.sampler.interval.ms", 500);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-process-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::sampleAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get singleton instance of SessionProcessSampler
+     *
+     * @return SessionProcessSampler instance
+     */
+    public static SessionProcessSampler getInstance() {
+        if (instance == null) {
+            synchronized (SessionProcessSampler.class) {
+                if (instance == null) {
+                    instance = new SessionProcessSampler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return true when metrics.sampler.enabled is set and /proc is available
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("metrics.sampler.enabled", false) && ProcessMemory.isSupported();
+    }
+
+    /**
+     * Start attributing a session's process usage to a key, e.g. a test result
+     *
+     * @param key       Owner of the samples until {@link #stop} is called
+     * @param label     Name used in the suite summary
+     * @param webDriver Session whose process tree is sampled
+     * @return false when the session has no local process tree (remote, grid or BrowserStack sessions)
+     */
+    public boolean start(Object key, String label, WebDriver webDriver) {
+        long rootPid = driverProcessIds.computeIfAbsent(webDriver, SessionProcessSampler::findRootProcess);
+        if (rootPid < 0) {
+            return false;
+        }
+        Tracking tracking = new Tracking(label, rootPid);
+        tracking.sample();
+        active.put(key, tracking);
+        return true;
+    }
+
+    /**
+     * Stop sampling for a key
+     *
+     * @param key Key passed to {@link #start}
+     * @return Usage over the tracked interval, or null when the key was not tracked
+     */
+    public Usage stop(Object key) {
+        Tracking tracking = active.remove(key);
+        if (tracking == null) {
+            return null;
+        }
+        Usage usage = tracking.finish();
+        completed.add(usage);
+        return usage;
+    }
+
+    /**
+     * Log the suite-level summary: per-test peaks and averages and the peak memory of all sampled sessions together
+     */
+    public void logSummary() {
+        List<Usage> usages;
+        synchronized (completed) {
+            usages = new ArrayList<>(completed);
+        }
+        if (usages.isEmpty()) {
+            return;
+        }
+        Usage heaviest = Collections.max(usages, (a, b) -> Long.compare(a.peakRssBytes, b.peakRssBytes));
+        logger.info("Session process usage over {} test(s): avg peak RSS={}MB, max peak RSS={}MB ({}), "
+                        + "total CPU={}ms, peak RSS of all concurrent sessions={}MB",
+                usages.size(),
+                usages.stream().mapToLong(Usage::getPeakRssMb).sum() / usages.size(),
+                heaviest.getPeakRssMb(), heaviest.getLabel(),
+                usages.stream().mapToLong(Usage::getCpuMillis).sum(),
+                peakTotalRssBytes.get() / (1024 * 1024));
+    }
+
+    private void sampleAll() {
+        try {
+            Map<Long, Long> rssByTree = new HashMap<>();
+            for (Tracking tracking : active.values()) {
+                tracking.sample();
+                // Tests sharing one driver track the same tree under several keys; count each tree once. A multiplexed
+                // context is its own attached driver process and does not include the shared host browser
+                rssByTree.put(tracking.rootPid, tracking.lastRssBytes);
+            }
+            peakTotalRssBytes.accumulateAndGet(rssByTree.values().stream().mapToLong(Long::longValue).sum(), Math::max);
+        } catch (Exception e) {
+            logger.debug("Process sampling failed", e);
+        }
+    }
+
+    /**
+     * Find the local process a session's driver and browser processes descend from: the browser process when
+     * driver services are shared, the session's own driver process otherwise
+     *
+     * @param webDriver Session
+     * @return Root process id, or -1 for remote sessions and platforms without /proc
+     */
+    static long findRootProcess(WebDriver webDriver) {
+        // A shared driver process serves many sessions, so start from the session's own browser process instead
+        return DriverServicePool.isEnabled() ? findBrowserProcess(webDriver) : findDriverProcess(webDriver);
+    }
+
+    /**
+     * Find the main browser process of a session by its profile directory
+     */
+    private static long findBrowserProcess(WebDriver webDriver) {
+        if (!(webDriver instanceof HasCapabilities)) {
+            return -1;
+        }
+        Capabilities capabilities = ((HasCapabilities) webDriver).getCapabilities();
+        Object profileDirectory = capabilities.getCapability("moz:profile");
+        for (String vendorKey : new String[]{"chrome", "msedge"}) {
+            Object vendorCapabilities = capabilities.getCapability(vendorKey);
+            if (vendorCapabilities instanceof Map) {
+                profileDirectory = ((Map<?, ?>) vendorCapabilities).get("userDataDir");
+            }
+        }
+        if (profileDirectory == null) {
+            return -1;
+        }
+        String directory = profileDirectory.toString();
+        // Child processes repeat the profile argument; the main process is the one whose parent does not
+        return ProcessHandle.current().descendants()
+                .filter(process -> commandLine(process.pid()).contains(directory))
+                .filter(process -> process.parent().map(parent -> !commandLine(parent.pid()).contains(directory)).orElse(true))
+                .mapToLong(ProcessHandle::pid)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    /**
+     * Find the local driver process serving a session by the port it listens on
+     */
+    private static long findDriverProcess(WebDriver webDriver) {
+        if (!(webDriver instanceof RemoteWebDriver)) {
+            return -1;
+        }
+        CommandExecutor executor = ((RemoteWebDriver) webDriver).getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) {
+            return -1;
+        }
+        URL address = ((HttpCommandExecutor) executor).getAddressOfRemoteServer();
+        String portArgument = "--port=" + address.getPort();
+        return ProcessHandle.current().descendants()
+                .filter(process -> commandLine(process.pid()).contains(portArgument))
+                .mapToLong(ProcessHandle::pid)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    private static Stream<ProcessHandle> tree(long rootPid) {
+        return ProcessHandle.of(rootPid)
+                .map(root -> Stream.concat(Stream.of(root), root.descendants()))
+                .orElseGet(Stream::empty);
+    }
+
+    static long treeResidentBytes(long rootPid) {
+        return tree(rootPid).mapToLong(process -> Math.max(0, ProcessMemory.residentBytes(process.pid()))).sum();
+    }
+
+    private static long treeCpuTicks(long rootPid) {
+        List<Long> pids = tree(rootPid).map(ProcessHandle::pid).collect(Collectors.toList());
+        long ticks = 0;
+        for (long pid : pids) {
+            // Count exited-and-reaped children of the driver process too, so short-lived helpers are not lost
+            ticks += cpuTicks(pid, pid == rootPid);
+        }
+        return ticks;
+    }
+
+    /**
+     * Read utime + stime (and optionally cutime + cstime) from /proc/[pid]/stat
+     */
+    private static long cpuTicks(long pid, boolean includeReapedChildren) {
+        try {
+            String stat = new String(Files.readAllBytes(Paths.get("/proc", pid + "/stat")), StandardCharsets.UTF_8);
+            // The command name can contain spaces; the numeric fields start after its closing parenthesis
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split("\\s+");
+            long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            if (includeReapedChildren) {
+                ticks += Long.parseLong(fields[13]) + Long.parseLong(fields[14]);
+            }
+            return ticks;
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static String commandLine(long pid) {
+        try {
+            return new String(Files.readAllBytes(Paths.get("/proc", pid + "/cmdline")), StandardCharsets.UTF_8)
+                    .replace('\0', ' ');
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded background executor that quits browser sessions off the test thread.
+ * webDriver.quit() can take seconds while the browser flushes its profile and child processes exit,
+ * so TestNG workers hand sessions to the reaper and move on. When the queue is full the caller quits
+ * the session itself, which bounds the number of browsers waiting to die. Call {@link #awaitCompletion()}
+ * before the suite ends so that no quit is lost. A session handed over more than once, e.g. by the hang watchdog
+ * and then by the test teardown, is quit only the first time.
+ */
+public class SessionReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReaper.class);
+    private static SessionReaper instance;
+
+    private final ThreadPoolExecutor executor;
+    private final long awaitTimeoutSeconds;
+    private final Object monitor = new Object();
+    private final TimingStats quitLatency = new TimingStats("Session quit latency");
+    private final Set<WebDriver> quitting = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private int pending;
+
+    private SessionReaper() {
+        ConfigReader config = ConfigReader.getInstance();
+        int threads = config.getIntProperty("driver.reaper.threads", 2);
+        int capacity = config.getIntProperty("driver.reaper.queue.capacity", 32);
+        this.awaitTimeoutSeconds = config.getLongProperty("driver.reaper.await.timeout.seconds", 120);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "session-reaper-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Get singleton instance of SessionReaper
+     *
+     * @return SessionReaper instance
+     */
+    public static SessionReaper getInstance() {
+        if (instance == null) {
+            synchronized (SessionReaper.class) {
+                if (instance == null) {
+                    instance = new SessionReaper();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Quit a session in the background
+     *
+     * @param webDriver   Session to quit
+     * @param description Session description used in log messages
+     */
+    public void quit(WebDriver webDriver, String description) {
+        if (!quitting.add(webDriver)) {
+            logger.debug("Already quitting {}", description);
+            return;
+        }
+        synchronized (monitor) {
+            pending++;
+        }
+        executor.execute(() -> quitNow(webDriver, description));
+        peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    /**
+     * Block until every queued quit has finished. Call from @AfterSuite.
+     */
+    public void awaitCompletion() {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(awaitTimeoutSeconds);
+        synchronized (monitor) {
+            while (pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.warn("{} session quit(s) still pending after {}s", pending, awaitTimeoutSeconds);
+                    break;
+                }
+                try {
+                    monitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        logSummary();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public void logSummary() {
+        logger.info("Session reaper: {}, peak queue depth={}", quitLatency.summary(), peakQueueDepth.get());
+    }
+
+    private void quitNow(WebDriver webDriver, String description) {
+        long start = System.currentTimeMillis();
+        try {
+            webDriver.quit();
+            logger.info("WebDriver quit successfully: {}", description);
+        } catch (Exception e) {
+            logger.error("Error while quitting WebDriver: {}", description, e);
+        } finally {
+            quitLatency.record(System.currentTimeMillis() - start);
+            ProfileTemplates.release(webDriver);
+            SessionAdmissionController.release(webDriver);
+            synchronized (monitor) {
+                pending--;
+                monitor.notifyAll();
+            }
+        }
+    }
+}
@@ -1,65 +1,108 @@
 package com.automation.driver;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ToastRecorder;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 public class WebDriverFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(WebDriverFactory.class);
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<PooledSession> pooledSession = new ThreadLocal<>();
 
     public enum BrowserType {
         CHROME, FIREFOX, EDGE, SAFARI
     }
 
     public static WebDriver initializeDriver(BrowserType browserType, boolean headless) {
+        WebDriver webDriver = createSession(browserType, headless);
+        driver.set(webDriver);
+        return webDriver;
+    }
+
+    static WebDriver createSession(BrowserType browserType, boolean headless) {
+        WebDriver webDriver = createSession(browserType, LaunchProfile.fromConfig(), headless);
+        try {
+            if (NetworkBlocker.isEnabled()) {
+                // Interception has to be in place before the session's first navigation
+                NetworkBlocker.install(webDriver, NetworkBlocker.Mode.BLOCK);
+            }
+            if (ToastRecorder.isEnabled()) {
+                ToastRecorder.install(webDriver);
+            }
+        } catch (RuntimeException e) {
+            SessionReaper.getInstance().quit(webDriver, browserType + " session that failed to install DevTools hooks");
+            throw e;
+        }
+        return webDriver;
+    }
+
+    /**
+     * Create a new, fully configured browser session without binding it to the current thread
+     *
+     * @param browserType Browser type
+     * @param profile     Launch profile used to build the browser options
+     * @param headless    Headless flag, honoured by profiles that do not force a mode
+     * @return New WebDriver session
+     */
+    public static WebDriver createSession(BrowserType browserType, LaunchProfile profile, boolean headless) {
         WebDriver webDriver = null;
 
         try {
-            switch (browserType) {
-                case CHROME:
-                    webDriver = createChromeDriver(headless);
-                    break;
-                case FIREFOX:
-                    webDriver = createFirefoxDriver(headless);
-                    break;
-                case EDGE:
-                    webDriver = createEdgeDriver(headless);
-                    break;
-                case SAFARI:
-                    webDriver = createSafariDriver();
-                    break;
-                default:
-                    throw new IllegalArgumentException("Browser type not supported: " + browserType);
+            Callable<WebDriver> creator;
+            if (isGridEnabled() && SessionAdmissionController.isEnabled()) {
+                creator = () -> SessionAdmissionController.getInstance().admit(browserType.name().toLowerCase(),
+                        () -> createGridDriver(browserType, profile, headless));
+            } else {
+                creator = () -> isGridEnabled()
+                        ? createGridDriver(browserType, profile, headless)
+                        : createLocalDriver(browserType, profile, headless);
             }
+            webDriver = SessionHedger.isEnabled()
+                    ? SessionHedger.getInstance().create(browserType.name().toLowerCase(), creator)
+                    : creator.call();
 
             // Configure WebDriver settings
-            webDriver.manage().window().maximize();
+            if (profile.maximizeWindow()) {
+                webDriver.manage().window().maximize();
+            }
             webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
             webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
             webDriver.manage().deleteAllCookies();
 
-            driver.set(webDriver);
-            logger.info("WebDriver initialized successfully for browser: {}", browserType);
+            logger.info("WebDriver initialized successfully for browser: {} with launch profile: {}",
+                    browserType, profile.getProfileName());
 
         } catch (Exception e) {
             logger.error("Failed to initialize WebDriver for browser: {}", browserType, e);
+            if (webDriver != null) {
+                // The browser started but could not be configured; do not leave it running
+                SessionReaper.getInstance().quit(webDriver, browserType + " session that failed to configure");
+            }
             throw new RuntimeException("WebDriver initialization failed", e);
         }
 
@@ -73,25 +116,180 @@ public class WebDriverFactory {
             return createBrowserStackDriver();
         }
 
-        String browser = System.getProperty("browser", "chrome").toLowerCase();
+        return initializeDriver(resolveBrowserType());
+    }
+
+    /**
+     * Bind a session for the given browser to the current thread, e.g. for the browser a matrix test runs on.
+     * Honours context multiplexing and the session pool like {@link #initializeDriver()}.
+     *
+     * @param browserType Browser type
+     * @return WebDriver session
+     */
+    public static WebDriver initializeDriver(BrowserType browserType) {
+        boolean headless = Boolean.parseBoolean(System.getProperty("headless", "false"));
+
+        if (BrowserContextMultiplexer.isEnabled() && BrowserContextMultiplexer.supports(browserType)) {
+            WebDriver webDriver = BrowserContextMultiplexer.getInstance().lease(browserType, headless);
+            driver.set(webDriver);
+            return webDriver;
+        }
+        if (isSessionPoolEnabled()) {
+            return leaseDriver(browserType, headless);
+        }
+        return initializeDriver(browserType, headless);
+    }
+
+    /**
+     * Lease a session from the {@link DriverSessionPool} and bind it to the current thread
+     *
+     * @param browserType Browser type
+     * @param headless    Whether a newly created browser should run headless
+     * @return Leased WebDriver session
+     */
+    public static WebDriver leaseDriver(BrowserType browserType, boolean headless) {
+        PooledSession session = DriverSessionPool.getInstance().lease(browserType, headless);
+        pooledSession.set(session);
+        driver.set(session.getDriver());
+        return session.getDriver();
+    }
+
+    /**
+     * @return true when the current thread's session came from the pool already reset and parked on base.url
+     */
+    public static boolean isSessionAtBaseUrl() {
+        PooledSession session = pooledSession.get();
+        return session != null && session.isAtBaseUrl();
+    }
+
+    /**
+     * Pre-warm pooled sessions in the background so tests receive a ready browser immediately.
+     * Does nothing when the session pool or pre-warming is disabled, when browser contexts are multiplexed
+     * or when running on BrowserStack.
+     *
+     * @param threadCount Number of worker threads the suite runs with; one spare session is kept per thread
+     */
+    public static void prewarm(int threadCount) {
+        prewarm(resolveBrowserType(), threadCount);
+    }
+
+    /**
+     * Pre-warm pooled sessions for the given browser, see {@link #prewarm(int)}
+     *
+     * @param browserType Browser type
+     * @param threadCount Number of worker threads running tests on this browser
+     */
+    public static void prewarm(BrowserType browserType, int threadCount) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (!isSessionPoolEnabled() || !config.getBooleanProperty("driver.prewarm.enabled", false)
+                || (BrowserContextMultiplexer.isEnabled() && BrowserContextMultiplexer.supports(browserType))
+                || System.getProperty("browserstack.config") != null || isBrowserStackExecution()) {
+            return;
+        }
+        int spares = config.getIntProperty("driver.prewarm.spares", 0);
+        if (spares <= 0) {
+            spares = Math.max(1, threadCount);
+        }
+        boolean headless = Boolean.parseBoolean(System.getProperty("headless", "false"));
+        DriverSessionPool.getInstance().prewarm(browserType, headless, spares);
+    }
+
+    /**
+     * Start the shared driver service for the configured browser at suite start, so the first session does not
+     * pay for the driver process startup. Does nothing unless driver.service.shared is set, or for grid,
+     * BrowserStack and Safari runs.
+     */
+    public static void startDriverServices() {
+        startDriverServices(resolveBrowserType());
+    }
+
+    /**
+     * Start the shared driver service for the given browser, see {@link #startDriverServices()}
+     *
+     * @param browserType Browser type
+     */
+    public static void startDriverServices(BrowserType browserType) {
+        if (!DriverServicePool.isEnabled() || !DriverServicePool.supports(browserType) || isGridEnabled()
+                || System.getProperty("browserstack.config") != null || isBrowserStackExecution()) {
+            return;
+        }
+        DriverServicePool.getInstance().start(browserType);
+    }
+
+    /**
+     * Build the golden profile for the configured browser at suite start, so every session starts on warm caches.
+     * Does nothing unless driver.profile.template.enabled is set, or for grid, BrowserStack and Safari runs.
+     */
+    public static void buildProfileTemplates() {
+        buildProfileTemplates(resolveBrowserType());
+    }
+
+    /**
+     * Build the golden profile for the given browser, see {@link #buildProfileTemplates()}
+     *
+     * @param browserType Browser type
+     */
+    public static void buildProfileTemplates(BrowserType browserType) {
+        if (!ProfileTemplates.isEnabled() || !ProfileTemplates.supports(browserType) || isGridEnabled()
+                || System.getProperty("browserstack.config") != null || isBrowserStackExecution()) {
+            return;
+        }
         boolean headless = Boolean.parseBoolean(System.getProperty("headless", "false"));
+        ProfileTemplates.getInstance().buildTemplate(browserType, headless);
+    }
 
-        BrowserType browserType;
-        switch (browser) {
+    public static boolean isSessionPoolEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("driver.pool.enabled", false);
+    }
+
+    /**
+     * Quit every pooled session and shared context host browser, wait for all pending background quits,
+     * stop the shared driver services, delete profile templates and log their statistics. Call once at the end of the suite.
+     */
+    public static void shutdown() {
+        if (isSessionPoolEnabled()) {
+            DriverSessionPool.getInstance().shutdown();
+        }
+        if (BrowserContextMultiplexer.isEnabled()) {
+            BrowserContextMultiplexer.getInstance().shutdown();
+        }
+        if (SessionHedger.isEnabled()) {
+            // Losing attempts still starting hand their sessions to the reaper
+            SessionHedger.getInstance().shutdown();
+        }
+        SessionReaper.getInstance().awaitCompletion();
+        // Services must outlive every pending quit
+        if (DriverServicePool.isEnabled()) {
+            DriverServicePool.getInstance().shutdown();
+        }
+        if (ProfileTemplates.isEnabled()) {
+            ProfileTemplates.getInstance().shutdown();
+        }
+        if (SessionAdmissionController.isEnabled()) {
+            SessionAdmissionController.getInstance().logSummary();
+        }
+        NetworkBlocker.logSummary();
+    }
+
+    private static BrowserType resolveBrowserType() {
+        return browserTypeOf(System.getProperty("browser", "chrome"));
+    }
+
+    /**
+     * @param browser Browser name as passed with -Dbrowser, e.g. "firefox"
+     * @return Matching browser type, Chrome for unknown names
+     */
+    public static BrowserType browserTypeOf(String browser) {
+        switch (browser.toLowerCase()) {
             case "firefox":
-                browserType = BrowserType.FIREFOX;
-                break;
+                return BrowserType.FIREFOX;
             case "edge":
-                browserType = BrowserType.EDGE;
-                break;
+                return BrowserType.EDGE;
             case "safari":
-                browserType = BrowserType.SAFARI;
-                break;
+                return BrowserType.SAFARI;
             default:
-                browserType = BrowserType.CHROME;
+                return BrowserType.CHROME;
         }
-
-        return initializeDriver(browserType, headless);
     }
 
     public static WebDriver getDriver() {
@@ -103,74 +301,146 @@ public class WebDriverFactory {
     }
 
     public static void quitDriver() {
-        WebDriver webDriver = driver.get();
-        if (webDriver != null) {
+        PooledSession session = pooledSession.get();
+        if (session != null) {
             try {
-                webDriver.quit();
-                logger.info("WebDriver quit successfully");
-            } catch (Exception e) {
-                logger.error("Error while quitting WebDriver", e);
+                DriverSessionPool.getInstance().release(session);
             } finally {
+                pooledSession.remove();
                 driver.remove();
             }
+            return;
+        }
+
+        WebDriver webDriver = driver.get();
+        if (webDriver != null && BrowserContextMultiplexer.isEnabled()
+                && BrowserContextMultiplexer.getInstance().release(webDriver)) {
+            driver.remove();
+            return;
+        }
+        if (webDriver != null) {
+            // Free the test thread immediately; the reaper quits the browser in the background
+            driver.remove();
+            SessionReaper.getInstance().quit(webDriver, webDriver.getClass().getSimpleName());
         }
     }
 
-    private static WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver createLocalDriver(BrowserType browserType, LaunchProfile profile, boolean headless) {
+        ProfileTemplates templates = ProfileTemplates.getInstance();
+        Path profileDirectory = templates.hasTemplate(browserType) ? templates.cloneTemplate(browserType) : null;
+        try {
+            WebDriver webDriver = createLocalDriver(browserType, profile, headless, profileDirectory);
+            if (profileDirectory != null) {
+                templates.track(webDriver, profileDirectory);
+            }
+            return webDriver;
+        } catch (RuntimeException e) {
+            if (profileDirectory != null) {
+                templates.discard(profileDirectory);
+            }
+            throw e;
+        }
+    }
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-web-security");
-        options.addArguments("--disable-features=VizDisplayCompositor");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*");
+    /**
+     * Launch a local browser, optionally on an existing profile directory
+     *
+     * @param profileDirectory Profile directory to launch with, or null for a fresh temporary profile
+     */
+    static WebDriver createLocalDriver(BrowserType browserType, LaunchProfile profile, boolean headless, Path profileDirectory) {
+        try {
+            switch (browserType) {
+                case CHROME:
+                    return createChromeDriver(profile, headless, profileDirectory);
+                case FIREFOX:
+                    return createFirefoxDriver(profile, headless, profileDirectory);
+                case EDGE:
+                    return createEdgeDriver(profile, headless, profileDirectory);
+                case SAFARI:
+                    return createSafariDriver();
+                default:
+                    throw new IllegalArgumentException("Browser type not supported: " + browserType);
+            }
+        } finally {
+            // Record the new driver and browser processes even when the launch failed half-way
+            if (ProcessLedger.isEnabled()) {
+                ProcessLedger.getInstance().recordDescendants();
+            }
+        }
+    }
+
+    private static WebDriver createChromeDriver(LaunchProfile profile, boolean headless, Path profileDirectory) {
+        DriverBinaryResolver.resolve(BrowserType.CHROME);
 
-        if (headless) {
-            options.addArguments("--headless");
-            logger.info("Chrome driver initialized in headless mode");
-        } else {
-            logger.info("Chrome driver initialized in normal mode");
+        ChromeOptions options = profile.chromeOptions(headless);
+        if (profileDirectory != null) {
+            options.addArguments("--user-data-dir=" + profileDirectory);
         }
+        logger.info("Chrome driver initialized in {} mode", profile.isHeadless(headless) ? "headless" : "normal");
 
+        if (DriverServicePool.isEnabled()) {
+            return new ChromeDriver((ChromeDriverService) DriverServicePool.getInstance().lease(BrowserType.CHROME), options);
+        }
         return new ChromeDriver(options);
     }
 
-    private static WebDriver createFirefoxDriver(boolean headless) {
-        WebDriverManager.firefoxdriver().setup();
-
-        FirefoxOptions options = new FirefoxOptions();
+    private static WebDriver createFirefoxDriver(LaunchProfile profile, boolean headless, Path profileDirectory) {
+        DriverBinaryResolver.resolve(BrowserType.FIREFOX);
 
-        if (headless) {
-            options.addArguments("--headless");
-            logger.info("Firefox driver initialized in headless mode");
-        } else {
-            logger.info("Firefox driver initialized in normal mode");
+        FirefoxOptions options = profile.firefoxOptions(headless);
+        if (profileDirectory != null) {
+            options.addArguments("-profile", profileDirectory.toString());
         }
+        logger.info("Firefox driver initialized in {} mode", profile.isHeadless(headless) ? "headless" : "normal");
 
+        if (DriverServicePool.isEnabled()) {
+            return new FirefoxDriver((GeckoDriverService) DriverServicePool.getInstance().lease(BrowserType.FIREFOX), options);
+        }
         return new FirefoxDriver(options);
     }
 
-    private static WebDriver createEdgeDriver(boolean headless) {
-        WebDriverManager.edgedriver().setup();
+    private static WebDriver createEdgeDriver(LaunchProfile profile, boolean headless, Path profileDirectory) {
+        DriverBinaryResolver.resolve(BrowserType.EDGE);
 
-        EdgeOptions options = new EdgeOptions();
-        options.addArguments("--disable-web-security");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--remote-allow-origins=*");
-
-        if (headless) {
-            options.addArguments("--headless");
-            logger.info("Edge driver initialized in headless mode");
-        } else {
-            logger.info("Edge driver initialized in normal mode");
+        EdgeOptions options = profile.edgeOptions(headless);
+        if (profileDirectory != null) {
+            options.addArguments("--user-data-dir=" + profileDirectory);
         }
+        logger.info("Edge driver initialized in {} mode", profile.isHeadless(headless) ? "headless" : "normal");
 
+        if (DriverServicePool.isEnabled()) {
+            return new EdgeDriver((EdgeDriverService) DriverServicePool.getInstance().lease(BrowserType.EDGE), options);
+        }
         return new EdgeDriver(options);
     }
 
+    private static WebDriver createGridDriver(BrowserType browserType, LaunchProfile profile, boolean headless)
+            throws MalformedURLException {
+        String hubUrl = ConfigReader.getInstance().getProperty("grid.hub.url", "http://localhost:4444/wd/hub");
+
+        Capabilities options;
+        switch (browserType) {
+            case FIREFOX:
+                options = profile.firefoxOptions(headless);
+                break;
+            case EDGE:
+                options = profile.edgeOptions(headless);
+                break;
+            case SAFARI:
+                options = new SafariOptions();
+                break;
+            default:
+                options = profile.chromeOptions(headless);
+        }
+
+        logger.info("Requesting {} session from grid hub: {}", browserType, hubUrl);
+        return new RemoteWebDriver(new URL(hubUrl), options);
+    }
+
+    public static boolean isGridEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("grid.enabled", false);
+    }
+
     private static WebDriver createSafariDriver() {
         logger.info("Safari driver initialized (headless mode not supported)");
         return new SafariDriver();
@@ -232,7 +502,10 @@ public class WebDriverFactory {
 
             caps.setCapability("bstack:options", browserstackOptions);
 
-            WebDriver webDriver = new RemoteWebDriver(new URL(hubUrl), caps);
+            URL hub = new URL(hubUrl);
+            WebDriver webDriver = SessionAdmissionController.isEnabled()
+                    ? SessionAdmissionController.getInstance().admit(browser + "@" + platform, () -> new RemoteWebDriver(hub, caps))
+                    : new RemoteWebDriver(hub, caps);
 
             // Configure WebDriver settings
             webDriver.manage().window().maximize();
@@ -0,0 +1,323 @@
+package com.automation.grid;
+
+import com.automation.driver.DriverBinaryResolver;
+import com.automation.driver.ProcessLedger;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight in-process stand-in for a Selenium Grid hub.
+ * Serves the W3C WebDriver protocol under /wd/hub and routes every new session to a locally started
+ * chromedriver, msedgedriver or geckodriver process. At most grid.local.hub.max.sessions sessions run at
+ * once; further session requests wait in a FIFO queue for up to grid.local.hub.queue.timeout.seconds.
+ * Sessions that receive no command for grid.local.hub.idle.timeout.seconds, e.g. because the client died, or whose
+ * driver process has exited are ended in the background so their slots are not lost.
+ */
+public class LocalHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalHub.class);
+    private static final String BASE_PATH = "/wd/hub";
+    private static final String SESSION_PATH = BASE_PATH + "/session";
+    private static LocalHub instance;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, HubSession> sessions = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final int maxSessions;
+    private final long queueTimeoutSeconds;
+    private final long idleTimeoutMillis;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService orphanMonitor;
+    private final TimingStats queueWaits = new TimingStats("Local hub queue wait");
+    private final AtomicInteger peakQueueLength = new AtomicInteger();
+
+    private static final class HubSession {
+        private final DriverService service;
+        private volatile long lastCommandMillis = System.currentTimeMillis();
+
+        private HubSession(DriverService service) {
+            this.service = service;
+        }
+    }
+
+    LocalHub(int port, int maxSessions, long queueTimeoutSeconds, long idleTimeoutSeconds) throws IOException {
+        this.maxSessions = maxSessions;
+        this.queueTimeoutSeconds = queueTimeoutSeconds;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.slots = new Semaphore(maxSessions, true);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.requestExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-hub-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext(BASE_PATH, this::handle);
+        this.server.setExecutor(requestExecutor);
+
+        this.orphanMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "local-hub-orphans");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMillis = Math.max(1000, Math.min(idleTimeoutMillis, 30_000));
+        this.orphanMonitor.scheduleWithFixedDelay(this::endOrphanedSessions, checkMillis, checkMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start the local hub on the grid.hub.url port when grid.enabled and grid.local.hub.enabled are set
+     */
+    public static synchronized void startIfConfigured() {
+        ConfigReader config = ConfigReader.getInstance();
+        if (instance != null || !config.getBooleanProperty("grid.enabled", false)
+                || !config.getBooleanProperty("grid.local.hub.enabled", false)) {
+            return;
+        }
+        URI hubUri = URI.create(config.getProperty("grid.hub.url", "http://localhost:4444/wd/hub"));
+        int maxSessions = config.getIntProperty("grid.local.hub.max.sessions",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        try {
+            instance = new LocalHub(hubUri.getPort(), maxSessions,
+                    config.getLongProperty("grid.local.hub.queue.timeout.seconds", 300),
+                    config.getLongProperty("grid.local.hub.idle.timeout.seconds", 300));
+            instance.server.start();
+            logger.info("Local hub listening on {} with {} session slot(s)", hubUri, maxSessions);
+        } catch (IOException e) {
+            throw new RuntimeException("Local hub failed to start on " + hubUri, e);
+        }
+    }
+
+    public static synchronized void stopIfRunning() {
+        if (instance != null) {
+            instance.stop();
+            instance = null;
+        }
+    }
+
+    void stop() {
+        server.stop(0);
+        orphanMonitor.shutdownNow();
+        sessions.values().forEach(session -> session.service.stop());
+        sessions.clear();
+        requestExecutor.shutdownNow();
+        logger.info("Local hub stopped: {}, peak queue length={}", queueWaits.summary(), peakQueueLength.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+
+            if ("POST".equals(method) && (path.equals(SESSION_PATH) || path.equals(SESSION_PATH + "/"))) {
+                createSession(exchange, body);
+            } else if (path.startsWith(SESSION_PATH + "/")) {
+                routeSessionCommand(exchange, method, path, body);
+            } else if (path.equals(BASE_PATH + "/status")) {
+                respond(exchange, 200, String.format(
+                        "{\"value\":{\"ready\":%s,\"message\":\"%d of %d slot(s) free\"}}",
+                        slots.availablePermits() > 0, slots.availablePermits(), maxSessions));
+            } else {
+                respondError(exchange, 404, "unknown command", "Unknown path " + path);
+            }
+        } catch (Exception e) {
+            logger.error("Local hub failed to handle request", e);
+            respondError(exchange, 500, "unknown error", String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createSession(HttpExchange exchange, byte[] body) throws Exception {
+        WebDriverFactory.BrowserType browserType = requestedBrowser(body);
+
+        peakQueueLength.accumulateAndGet(slots.getQueueLength() + 1, Math::max);
+        long start = System.currentTimeMillis();
+        if (!slots.tryAcquire(queueTimeoutSeconds, TimeUnit.SECONDS)) {
+            respondError(exchange, 500, "session not created",
+                    "No free session slot within " + queueTimeoutSeconds + "s (" + maxSessions + " slot(s) busy)");
+            return;
+        }
+        queueWaits.record(System.currentTimeMillis() - start);
+
+        DriverService service = null;
+        try {
+            service = startDriverService(browserType);
+            HttpResponse<byte[]> response = forward(service, "POST", "/session", body);
+            JsonNode sessionId = mapper.readTree(response.body()).path("value").path("sessionId");
+            if (response.statusCode() == 200 && sessionId.isTextual()) {
+                sessions.put(sessionId.asText(), new HubSession(service));
+                logger.info("Local hub created {} session {} ({} slot(s) free)",
+                        browserType, sessionId.asText(), slots.availablePermits());
+            } else {
+                service.stop();
+                slots.release();
+            }
+            respond(exchange, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            if (service != null) {
+                service.stop();
+            }
+            slots.release();
+            throw e;
+        }
+    }
+
+    private void routeSessionCommand(HttpExchange exchange, String method, String path, byte[] body) throws Exception {
+        String relativePath = path.substring(BASE_PATH.length());
+        String sessionId = relativePath.split("/")[2];
+        HubSession session = sessions.get(sessionId);
+        if (session == null) {
+            respondError(exchange, 404, "invalid session id", "Unknown session " + sessionId);
+            return;
+        }
+
+        session.lastCommandMillis = System.currentTimeMillis();
+        HttpResponse<byte[]> response;
+        if ("DELETE".equals(method) && relativePath.equals("/session/" + sessionId)) {
+            try {
+                response = forward(session.service, method, relativePath, body);
+            } finally {
+                // Free the slot even when the driver already crashed and the forward failed
+                endSession(sessionId, "deleted by client");
+            }
+        } else {
+            response = forward(session.service, method, relativePath, body);
+            session.lastCommandMillis = System.currentTimeMillis();
+        }
+        respond(exchange, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stop the session's driver process and free its slot. Only the first call for a session has an effect.
+     */
+    private void endSession(String sessionId, String reason) {
+        HubSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        try {
+            session.service.stop();
+        } finally {
+            slots.release();
+        }
+        logger.info("Local hub ended session {}, {} ({} slot(s) free)", sessionId, reason, slots.availablePermits());
+    }
+
+    private void endOrphanedSessions() {
+        long now = System.currentTimeMillis();
+        sessions.forEach((sessionId, session) -> {
+            try {
+                if (!session.service.isRunning()) {
+                    endSession(sessionId, "driver process exited");
+                } else if (now - session.lastCommandMillis > idleTimeoutMillis) {
+                    endSession(sessionId, "no command for " + (now - session.lastCommandMillis) / 1000 + "s");
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to end orphaned local hub session {}", sessionId, e);
+            }
+        });
+    }
+
+    private HttpResponse<byte[]> forward(DriverService service, String method, String path, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body.length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(service.getUrl() + path))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .method(method, publisher)
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private DriverService startDriverService(WebDriverFactory.BrowserType browserType) throws IOException {
+        File executable = new File(DriverBinaryResolver.resolve(browserType));
+        DriverService service;
+        switch (browserType) {
+            case FIREFOX:
+                service = new GeckoDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+                break;
+            case EDGE:
+                service = new EdgeDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+                break;
+            default:
+                service = new ChromeDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+        }
+        service.start();
+        if (ProcessLedger.isEnabled()) {
+            ProcessLedger.getInstance().recordDescendants();
+        }
+        return service;
+    }
+
+    private WebDriverFactory.BrowserType requestedBrowser(byte[] body) throws IOException {
+        JsonNode capabilities = mapper.readTree(body).path("capabilities");
+        String browserName = capabilities.path("alwaysMatch").path("browserName").asText("");
+        if (browserName.isEmpty()) {
+            browserName = capabilities.path("firstMatch").path(0).path("browserName").asText("chrome");
+        }
+        switch (browserName.toLowerCase()) {
+            case "firefox":
+                return WebDriverFactory.BrowserType.FIREFOX;
+            case "msedge":
+            case "microsoftedge":
+            case "edge":
+                return WebDriverFactory.BrowserType.EDGE;
+            default:
+                return WebDriverFactory.BrowserType.CHROME;
+        }
+    }
+
+    private void respondError(HttpExchange exchange, int status, String error, String message) throws IOException {
+        ObjectNode value = mapper.createObjectNode();
+        value.put("error", error);
+        value.put("message", message);
+        value.put("stacktrace", "");
+        ObjectNode payload = mapper.createObjectNode();
+        payload.set("value", value);
+        respond(exchange, status, mapper.writeValueAsString(payload));
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.automation.listeners;
+
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fans every &lt;test&gt; of a suite out across the browsers listed in matrix.browsers, so one TestNG run covers
+ * the whole cross-browser matrix. Each browser gets its own copy of the test, tagged with the
+ * {@value #BROWSER_PARAMETER} parameter and running on its own thread pool of matrix.&lt;browser&gt;.threads workers.
+ * The copies run concurrently, so the wall time approaches that of the slowest browser rather than the sum.
+ */
+public class BrowserMatrixListener implements IAlterSuiteListener {
+
+    public static final String BROWSER_PARAMETER = "matrix.browser";
+    private static final Logger logger = LoggerFactory.getLogger(BrowserMatrixListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<WebDriverFactory.BrowserType> browsers = configuredBrowsers();
+        if (browsers.isEmpty()) {
+            return;
+        }
+        ConfigReader config = ConfigReader.getInstance();
+        for (XmlSuite suite : suites) {
+            List<XmlTest> originals = new ArrayList<>(suite.getTests());
+            for (XmlTest original : originals) {
+                int defaultThreads = original.getParallel() == XmlSuite.ParallelMode.NONE ? 1 : original.getThreadCount();
+                for (WebDriverFactory.BrowserType browser : browsers) {
+                    String name = browser.name().toLowerCase();
+                    // XmlTest(XmlSuite) adds the copy to the suite's tests
+                    XmlTest copy = (XmlTest) original.clone();
+                    copy.setName(original.getName() + " [" + name + "]");
+                    copy.setPreserveOrder(original.getPreserveOrder());
+                    copy.setXmlPackages(new ArrayList<>(original.getXmlPackages()));
+                    copy.setXmlClasses(original.getXmlClasses().stream()
+                            .map(xmlClass -> (XmlClass) xmlClass.clone())
+                            .collect(Collectors.toList()));
+                    copy.addParameter(BROWSER_PARAMETER, name);
+                    copy.setThreadCount(Math.max(1, config.getIntProperty("matrix." + name + ".threads", defaultThreads)));
+                }
+            }
+            suite.getTests().removeAll(originals);
+
+            // Browsers run side by side; each copy keeps the test's own parallel mode within its browser
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(suite.getTests().size());
+            logger.info("Browser matrix: expanded {} test(s) of suite '{}' across {}", originals.size(), suite.getName(), browsers);
+        }
+    }
+
+    /**
+     * @param result Test result
+     * @return Matrix browser the result ran on, or null outside matrix runs
+     */
+    public static String browserOf(ITestResult result) {
+        return result.getTestContext().getCurrentXmlTest().getLocalParameters().get(BROWSER_PARAMETER);
+    }
+
+    /**
+     * Worker threads each matrix browser runs on, summed over the browser's copies of the suite's tests
+     *
+     * @param suite Altered suite
+     * @return Worker thread count keyed by browser; empty when the suite was not expanded into a matrix
+     */
+    public static Map<WebDriverFactory.BrowserType, Integer> browserThreadCounts(XmlSuite suite) {
+        Map<WebDriverFactory.BrowserType, Integer> threadCounts = new LinkedHashMap<>();
+        for (XmlTest test : suite.getTests()) {
+            String browser = test.getLocalParameters().get(BROWSER_PARAMETER);
+            if (browser != null) {
+                threadCounts.merge(WebDriverFactory.browserTypeOf(browser), test.getThreadCount(), Integer::sum);
+            }
+        }
+        return threadCounts;
+    }
+
+    private static List<WebDriverFactory.BrowserType> configuredBrowsers() {
+        String browsers = ConfigReader.getInstance().getProperty("matrix.browsers", "");
+        List<WebDriverFactory.BrowserType> types = new ArrayList<>();
+        for (String browser : browsers.split(",")) {
+            if (!browser.trim().isEmpty()) {
+                WebDriverFactory.BrowserType type = WebDriverFactory.browserTypeOf(browser.trim());
+                if (!types.contains(type)) {
+                    types.add(type);
+                }
+            }
+        }
+        return types;
+    }
+}
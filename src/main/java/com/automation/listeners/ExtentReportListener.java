@@ -48,9 +48,18 @@ public class ExtentReportListener implements ITestListener {
     public void onTestStart(ITestResult result) {
         String testName = result.getMethod().getMethodName();
         String description = result.getMethod().getDescription();
+        String browser = BrowserMatrixListener.browserOf(result);
+        if (browser != null) {
+            testName = testName + " [" + browser + "]";
+        }
 
         ExtentTest test = extent.createTest(testName, description);
         test.assignCategory(result.getTestClass().getName());
+        if (browser != null) {
+            // Matrix runs: group results by browser as well as by class
+            test.assignCategory(browser);
+            test.assignDevice(browser);
+        }
 
         extentTest.set(test);
         logger.debug("ExtentTest created for: {}", testName);
@@ -63,6 +72,7 @@ public class ExtentReportListener implements ITestListener {
             test.log(Status.PASS, "Test passed successfully");
             long duration = result.getEndMillis() - result.getStartMillis();
             test.info("Execution time: " + duration + "ms");
+            logTestMetrics(test, result);
         }
     }
 
@@ -72,6 +82,7 @@ public class ExtentReportListener implements ITestListener {
         if (test != null) {
             test.log(Status.FAIL, "Test failed");
             test.fail(result.getThrowable());
+            logTestMetrics(test, result);
 
             // Add screenshot if available
             // String screenshotPath = takeScreenshot(result.getMethod().getMethodName());
@@ -98,6 +109,25 @@ public class ExtentReportListener implements ITestListener {
         }
     }
 
+    private void logTestMetrics(ExtentTest test, ITestResult result) {
+        Object usage = result.getAttribute(SessionMetricsListener.USAGE_ATTRIBUTE);
+        if (usage != null) {
+            test.info(usage.toString());
+        }
+        Object implicitWaitSaved = result.getAttribute(SessionMetricsListener.IMPLICIT_WAIT_SAVED_ATTRIBUTE);
+        if (implicitWaitSaved != null) {
+            test.info("Implicit wait saved by zero-wait probes: " + implicitWaitSaved + "ms");
+        }
+        Object sleepSaved = result.getAttribute(SessionMetricsListener.SLEEP_SAVED_ATTRIBUTE);
+        if (sleepSaved != null) {
+            test.info("Fixed sleeps replaced by DOM waits saved: " + sleepSaved + "ms");
+        }
+        Object queueWait = result.getAttribute(SessionMetricsListener.SESSION_QUEUE_WAIT_ATTRIBUTE);
+        if (queueWait != null) {
+            test.info("Queued for a remote session slot: " + queueWait + "ms");
+        }
+    }
+
     public static ExtentTest getExtentTest() {
         return extentTest.get();
     }
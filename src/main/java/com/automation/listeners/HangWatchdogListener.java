@@ -0,0 +1,62 @@
+package com.automation.listeners;
+
+import com.automation.driver.HangWatchdog;
+import com.automation.driver.WebDriverFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+/**
+ * Puts every test method under the {@link HangWatchdog}. A test the watchdog stopped is failed with the hang
+ * details, keeps the diagnostics directory as a result attribute and is not retried.
+ */
+public class HangWatchdogListener implements IInvokedMethodListener, ISuiteListener {
+
+    public static final String HANG_ATTRIBUTE = "hang.diagnostics";
+    private static final Logger logger = LoggerFactory.getLogger(HangWatchdogListener.class);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !HangWatchdog.isEnabled()) {
+            return;
+        }
+        String testId = testId(testResult);
+        long limit = HangWatchdog.getInstance().start(testResult, testId,
+                WebDriverFactory.isDriverInitialized() ? WebDriverFactory.getDriver() : null);
+        logger.debug("{}: hang limit {}ms", testId, limit);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !HangWatchdog.isEnabled()) {
+            return;
+        }
+        HangWatchdog.Hang hang = HangWatchdog.getInstance().stop(testResult, testResult.isSuccess());
+        if (hang == null) {
+            return;
+        }
+        // Do not carry the watchdog's interrupt into teardown
+        Thread.interrupted();
+        testResult.setStatus(ITestResult.FAILURE);
+        testResult.setThrowable(new RuntimeException(hang.toString(), testResult.getThrowable()));
+        testResult.setAttribute(HANG_ATTRIBUTE, hang.getDiagnostics().toString());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (HangWatchdog.isEnabled()) {
+            HangWatchdog.shutdown();
+        }
+    }
+
+    private static String testId(ITestResult result) {
+        String testId = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        // Durations differ per browser, so matrix runs keep a history per browser
+        String browser = BrowserMatrixListener.browserOf(result);
+        return browser != null ? testId + "[" + browser + "]" : testId;
+    }
+}
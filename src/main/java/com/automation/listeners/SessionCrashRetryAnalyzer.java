@@ -0,0 +1,32 @@
+package com.automation.listeners;
+
+import com.automation.driver.SessionHealthCheck;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Retries a test once when it failed because its browser session crashed.
+ * The crashed session fails its health probe on release and the retry runs on a fresh one.
+ */
+public class SessionCrashRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCrashRetryAnalyzer.class);
+    private static final int MAX_RETRIES = 1;
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        // A hung test whose session the watchdog killed looks like a crash, but would most likely hang again
+        if (retries < MAX_RETRIES && result.getAttribute(HangWatchdogListener.HANG_ATTRIBUTE) == null
+                && SessionHealthCheck.isSessionCrash(result.getThrowable())) {
+            retries++;
+            logger.warn("🔁 Retrying {} on a fresh session after browser crash: {}",
+                    result.getMethod().getMethodName(), result.getThrowable().getMessage());
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.automation.listeners;
+
+import com.automation.driver.SessionAdmissionController;
+import com.automation.driver.SessionProcessSampler;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.DomWaiter;
+import com.automation.utils.SeleniumUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+/**
+ * Attributes browser process memory and CPU usage, the implicit-wait time saved by zero-wait probes, the fixed-sleep
+ * time saved by DOM waits and the time spent queued for a remote session slot to the test currently running. They are
+ * stored as test result attributes; process usage and wait savings are also summarised at the end of the suite.
+ */
+public class SessionMetricsListener implements IInvokedMethodListener, ISuiteListener {
+
+    public static final String USAGE_ATTRIBUTE = "session.process.usage";
+    public static final String IMPLICIT_WAIT_SAVED_ATTRIBUTE = "implicit.wait.saved.ms";
+    public static final String SLEEP_SAVED_ATTRIBUTE = "fixed.sleep.saved.ms";
+    public static final String SESSION_QUEUE_WAIT_ATTRIBUTE = "session.queue.wait.ms";
+    private static final Logger logger = LoggerFactory.getLogger(SessionMetricsListener.class);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        SeleniumUtils.drainImplicitWaitSavedMillis();
+        DomWaiter.drainSleepSavedMillis();
+        // The session was leased in @BeforeMethod, so any admission wait happened just before this test
+        long queueWait = SessionAdmissionController.drainQueueWaitMillis();
+        if (queueWait > 0) {
+            testResult.setAttribute(SESSION_QUEUE_WAIT_ATTRIBUTE, queueWait);
+            logger.info("{}: waited {}ms for a remote session slot", testResult.getMethod().getMethodName(), queueWait);
+        }
+        if (!SessionProcessSampler.isEnabled() || !WebDriverFactory.isDriverInitialized()) {
+            return;
+        }
+        String label = testResult.getTestClass().getRealClass().getSimpleName() + "." + testResult.getMethod().getMethodName();
+        SessionProcessSampler.getInstance().start(testResult, label, WebDriverFactory.getDriver());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        long implicitWaitSaved = SeleniumUtils.drainImplicitWaitSavedMillis();
+        if (implicitWaitSaved > 0) {
+            testResult.setAttribute(IMPLICIT_WAIT_SAVED_ATTRIBUTE, implicitWaitSaved);
+            logger.info("{}: zero-wait probes saved {}ms of implicit wait",
+                    testResult.getMethod().getMethodName(), implicitWaitSaved);
+        }
+        long sleepSaved = DomWaiter.drainSleepSavedMillis();
+        if (sleepSaved != 0) {
+            testResult.setAttribute(SLEEP_SAVED_ATTRIBUTE, sleepSaved);
+            logger.info("{}: DOM waits saved {}ms against the fixed sleeps they replace",
+                    testResult.getMethod().getMethodName(), sleepSaved);
+        }
+        if (!SessionProcessSampler.isEnabled()) {
+            return;
+        }
+        SessionProcessSampler.Usage usage = SessionProcessSampler.getInstance().stop(testResult);
+        if (usage != null) {
+            testResult.setAttribute(USAGE_ATTRIBUTE, usage);
+            logger.info("{}: {}", usage.getLabel(), usage);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        logger.info("Zero-wait probes saved {}ms of implicit wait in total", SeleniumUtils.getTotalImplicitWaitSavedMillis());
+        logger.info("DOM waits saved {}ms against fixed sleeps in total", DomWaiter.getTotalSleepSavedMillis());
+        if (SessionProcessSampler.isEnabled()) {
+            SessionProcessSampler.getInstance().logSummary();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.automation.listeners;
+
+import com.automation.driver.SessionHealthCheck;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Attaches {@link SessionCrashRetryAnalyzer} to every test that does not declare its own retry analyzer, when session
+ * health checks (driver.health.enabled) are on; otherwise tests keep their declared retry behaviour
+ */
+public class SessionRetryTransformer implements IAnnotationTransformer {
+
+    // The raw Class and Constructor parameters come from the TestNG interface signature
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (!SessionHealthCheck.isEnabled()) {
+            return;
+        }
+        Class<?> retryAnalyzer = annotation.getRetryAnalyzerClass();
+        if (retryAnalyzer == null || retryAnalyzer == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(SessionCrashRetryAnalyzer.class);
+        }
+    }
+}
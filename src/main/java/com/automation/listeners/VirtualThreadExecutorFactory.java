@@ -0,0 +1,53 @@
+package com.automation.listeners;
+
+import com.automation.utils.VirtualThreads;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory that runs parallel test methods on virtual threads (JDK 21+).
+ * Scheduling is left to TestNG's own graph executor, so thread-count still caps concurrency; only the worker
+ * threads change, from platform threads with full stacks to virtual threads that park cheaply while a remote
+ * session command is in flight. On JVMs without virtual threads the workers are ordinary platform threads.
+ * <p>
+ * TestNG's graph executor is only reachable through its internal {@link DefaultThreadPoolExecutorFactory}, so the
+ * TestNG version is pinned in the pom; verify this class against any new version before upgrading.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+    private final IExecutorFactory defaults = new DefaultThreadPoolExecutorFactory();
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+                                                      IThreadWorkerFactory<ISuite> factory, int corePoolSize,
+                                                      int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                                      BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+        return defaults.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize, keepAliveTime, unit,
+                workQueue, comparator);
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                           TimeUnit unit, BlockingQueue<Runnable> workQueue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        ITestNGThreadPoolExecutor executor = defaults.newTestMethodExecutor(name, graph, factory, corePoolSize,
+                maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        if (executor instanceof ThreadPoolExecutor) {
+            // Workers are started lazily, so every one of them comes from this factory
+            ((ThreadPoolExecutor) executor).setThreadFactory(VirtualThreads.threadFactory("TestNG-" + name));
+        }
+        return executor;
+    }
+}
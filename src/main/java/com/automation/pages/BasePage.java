@@ -1,16 +1,26 @@
 package com.automation.pages;
 
+import com.automation.utils.DomWaiter;
 import com.automation.utils.SeleniumUtils;
+import com.automation.utils.Toast;
+import com.automation.utils.ToastRecorder;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+
 public abstract class BasePage {
 
     protected WebDriver driver;
     protected SeleniumUtils seleniumUtils;
+    protected DomWaiter domWaiter;
+    protected ToastRecorder toastRecorder;
+    private long toastMark;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.seleniumUtils = new SeleniumUtils(driver);
+        this.domWaiter = new DomWaiter(driver);
+        this.toastRecorder = new ToastRecorder(driver);
     }
 
     public String getPageTitle() {
@@ -29,6 +39,31 @@ public abstract class BasePage {
         seleniumUtils.waitForPageLoad();
     }
 
+    /**
+     * Fill forms on this page key by key instead of in one script, for tests that cover typing behaviour
+     */
+    public void useKeystrokeInput() {
+        seleniumUtils.setKeystrokeInput(true);
+    }
+
+    /**
+     * Mark the point after which toasts count, before an action that raises one
+     */
+    protected void markToasts() {
+        toastMark = toastRecorder.mark();
+    }
+
+    /**
+     * Text of the first toast shown since {@link #markToasts()}, waiting for it if it has not appeared yet
+     *
+     * @param replacedSleep Fixed sleep this read used to need, for the time saved metric; zero if none
+     * @return Toast text, or an empty string if no toast appeared within the timeout
+     */
+    protected String toastTextSinceMark(Duration replacedSleep) {
+        Toast toast = toastRecorder.replacing(replacedSleep).waitForToastSince(toastMark);
+        return toast == null ? "" : toast.getText();
+    }
+
     public void refreshPage() {
         driver.navigate().refresh();
     }
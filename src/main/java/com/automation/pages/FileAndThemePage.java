@@ -1,11 +1,12 @@
 package com.automation.pages;
 
-import com.automation.utils.Wait;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 public class FileAndThemePage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(FileAndThemePage.class);
@@ -19,7 +20,6 @@ public class FileAndThemePage extends BasePage {
     private static final By byUploadedFileTypeSelector = By.cssSelector("div.selected-file > p:nth-of-type(3)");
     private static final By byUploadedFileSizeSelector = By.cssSelector("div.selected-file > p:nth-of-type(2)");
     private static final By byUFileUploadedToastMessageXpath = By.xpath("//*[contains(text(),'File uploaded successfully')]");
-    private static final By byNotificationSelector = By.cssSelector("div.Toastify__toast-container");
     private static final By byThemeControlSelector = By.cssSelector(".theme-selector, [data-testid='theme'], select[name='theme']");
     private static final By byFileControlSelector = By.cssSelector("input[type='file'], .file-upload, [data-testid='file-input']");
     private static final By byUploadFileXpath = By.xpath("//button[text()='Upload File']");
@@ -35,6 +35,7 @@ public class FileAndThemePage extends BasePage {
     }
 
     public FileAndThemePage performFileUpload(String fileType, String fileName) {
+        markToasts();
         seleniumUtils.uploadFile(fileName, byFileInputSelector);
         logger.info("📁 Simulating file selection: {} ({})", fileName, fileType);
         return this;
@@ -50,7 +51,7 @@ public class FileAndThemePage extends BasePage {
     }
 
     public boolean verifyFileInUploadedList(String fileName) {
-        Wait.waitFor(2);
+        domWaiter.replacing(Duration.ofSeconds(2)).waitForTextContaining(fileName, byUploadedFileNameSelector);
         return seleniumUtils.getText(byUploadedFileNameSelector).contains(fileName);
     }
 
@@ -68,9 +69,8 @@ public class FileAndThemePage extends BasePage {
     }
 
     public boolean verifyThemeSelection(String themeName) {
-        Wait.waitFor(2);
         By bySelectedThemeXpath = By.xpath(SELECTED_THEME.replace(THEME_TEXT, themeName));
-        return seleniumUtils.isElementDisplayed(bySelectedThemeXpath);
+        return domWaiter.replacing(Duration.ofSeconds(2)).waitForVisible(bySelectedThemeXpath);
     }
 
     public boolean verifyUploadCompletion() {
@@ -83,8 +83,7 @@ public class FileAndThemePage extends BasePage {
     }
 
     public String verifyFileUploadedToastMessage() {
-        Wait.waitFor(2);
-        return seleniumUtils.getText(byNotificationSelector);
+        return toastTextSinceMark(Duration.ofSeconds(2));
     }
 
     public boolean verifyThemesAndFilesSectionLoaded() {
@@ -5,6 +5,8 @@ import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 public class HomePage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(HomePage.class);
@@ -78,11 +80,8 @@ public class HomePage extends BasePage {
     }
 
     public boolean areAllNavigationLinksPresent() {
-        boolean allPresent = seleniumUtils.isElementDisplayed(dashboardLink) &&
-                seleniumUtils.isElementDisplayed(productsLink) &&
-                seleniumUtils.isElementDisplayed(ordersLink) &&
-                seleniumUtils.isElementDisplayed(usersLink) &&
-                seleniumUtils.isElementDisplayed(tasksLink);
+        boolean allPresent = seleniumUtils.areAllDisplayed(
+                Arrays.asList(dashboardLink, productsLink, ordersLink, usersLink, tasksLink));
 
         logger.info("All navigation links present: {}", allPresent);
         return allPresent;
@@ -6,8 +6,10 @@ import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class OrdersPage extends BasePage {
 
@@ -18,6 +20,8 @@ public class OrdersPage extends BasePage {
     private final By createOrderTitle = By.xpath("//h2[contains(text(), 'Create New Order')]");
     private final By userDropdown = By.xpath("//option[text()='Select User']//parent::select");
     private final By productDropdown = By.xpath("//option[text()='Select Product']//parent::select");
+    private final By userOptions = By.xpath("//option[text()='Select User']//parent::select/option");
+    private final By productOptions = By.xpath("//option[text()='Select Product']//parent::select/option");
     private final By quantityInput = By.xpath("//input[@type='number' or @name='quantity']");
     private final By createOrderButton = By.xpath("//button[contains(text(), 'Create Order')]");
     private final By ordersCounter = By.xpath("//div[@class='orders-section']//h2");
@@ -42,11 +46,8 @@ public class OrdersPage extends BasePage {
     }
 
     public boolean isCreateOrderFormVisible() {
-        boolean visible = seleniumUtils.isElementDisplayed(createOrderTitle) &&
-                seleniumUtils.isElementDisplayed(userDropdown) &&
-                seleniumUtils.isElementDisplayed(productDropdown) &&
-                seleniumUtils.isElementDisplayed(quantityInput) &&
-                seleniumUtils.isElementDisplayed(createOrderButton);
+        boolean visible = seleniumUtils.areAllDisplayed(
+                Arrays.asList(createOrderTitle, userDropdown, productDropdown, quantityInput, createOrderButton));
         logger.info("Create order form visible: {}", visible);
         return visible;
     }
@@ -78,11 +79,12 @@ public class OrdersPage extends BasePage {
 
     public OrdersPage createOrder(String userName, String productName, String quantity) {
         logger.info("Creating order - User: {}, Product: {}, Quantity: {}", userName, productName, quantity);
-        selectUser(userName)
-                .selectProduct(productName)
-                .enterQuantity(quantity)
-                .clickCreateOrder();
-        return this;
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(userDropdown, userName);
+        values.put(productDropdown, productName);
+        values.put(quantityInput, quantity);
+        seleniumUtils.fillForm(values);
+        return clickCreateOrder();
     }
 
     public int getOrdersCount() {
@@ -119,35 +121,25 @@ public class OrdersPage extends BasePage {
     }
 
     public List<String> getAvailableUsers() {
-        WebElement dropdown = seleniumUtils.waitForElementVisible(userDropdown);
-        List<WebElement> options = dropdown.findElements(By.tagName("option"));
-        List<String> users = new ArrayList<>();
-        for (WebElement option : options) {
-            String text = option.getText();
-            if (!text.equals("Select User")) {
-                users.add(text);
-            }
-        }
+        seleniumUtils.waitForElementVisible(userDropdown);
+        List<String> users = seleniumUtils.extractTexts(userOptions);
+        users.removeIf(text -> text.equals("Select User"));
         logger.info("Available users: {}", users);
         return users;
     }
 
     public List<String> getAvailableProducts() {
-        WebElement dropdown = seleniumUtils.waitForElementVisible(productDropdown);
-        List<WebElement> options = dropdown.findElements(By.tagName("option"));
-        List<String> products = new ArrayList<>();
-        for (WebElement option : options) {
-            String text = option.getText();
-            if (!text.equals("Select Product")) {
-                products.add(text);
-            }
-        }
+        seleniumUtils.waitForElementVisible(productDropdown);
+        List<String> products = seleniumUtils.extractTexts(productOptions);
+        products.removeIf(text -> text.equals("Select Product"));
         logger.info("Available products: {}", products);
         return products;
     }
 
     public boolean inSuffcientStockNotificationVisible() {
-        boolean displayed = seleniumUtils.isElementDisplayed(byInsufficientStockErrorMessage);
+        // Wait for any notification first, so a successful order does not sit through the implicit wait
+        seleniumUtils.waitForAnyDisplayed(byInsufficientStockErrorMessage, successNotification);
+        boolean displayed = seleniumUtils.isElementDisplayedNow(byInsufficientStockErrorMessage);
         logger.info("Insufficient stock error message displayed: {}", displayed);
         return displayed;
     }
@@ -1,19 +1,26 @@
 package com.automation.pages;
 
+import com.automation.utils.ConfigReader;
 import com.automation.utils.Product;
-import com.automation.utils.Wait;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class ProductsPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductsPage.class);
     private static final String ALL_CATEGORIES_TEXT = "All Categories";
+    private static final Map<String, String> PRODUCT_CARD_FIELDS = Map.of(
+            "name", "h3",
+            "category", ":scope > p:nth-of-type(2)");
 
     // Page Elements
     private final By pageTitle = By.cssSelector("h1, h2");
@@ -25,9 +32,7 @@ public class ProductsPage extends BasePage {
     private final By byProductStockSelector = By.cssSelector("input[placeholder='Stock'], #productStock");
     private final By byProductDescriptionSelector = By.cssSelector("textarea[placeholder='Description'], #productDescription");
     private final By bySubmitButtonSelector = By.cssSelector("button[type='submit'], .submit-btn");
-    private final By byNotificationToastSelector = By.cssSelector("div.Toastify__toast-container");
     private final By byFilterSelector = By.cssSelector("div > select");
-    private final By byFilterProductOptionSelector = By.cssSelector("div.product-card > p:nth-of-type(2)");
     private final By byProductCardSelector = By.cssSelector("div.product-card");
     private final By byProductSectionsSelector = By.cssSelector("div.products-section");
     private final By byElectronicsXpath = By.xpath("//p[text()='Electronics']");
@@ -61,26 +66,28 @@ public class ProductsPage extends BasePage {
     }
 
     public ProductsPage addNewProductDetails(Product product) {
-        seleniumUtils.type(byProductNameSelector, product.getName());
-        seleniumUtils.type(byProductPriceSelector, product.getPrice());
-        seleniumUtils.type(byProductCategorySelector, product.getCategory());
-        seleniumUtils.type(byProductStockSelector, product.getStock());
-        seleniumUtils.type(byProductDescriptionSelector, product.getDescription());
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(byProductNameSelector, product.getName());
+        values.put(byProductPriceSelector, product.getPrice());
+        values.put(byProductCategorySelector, product.getCategory());
+        values.put(byProductStockSelector, product.getStock());
+        values.put(byProductDescriptionSelector, product.getDescription());
+        seleniumUtils.fillForm(values);
         return this;
     }
 
     public ProductsPage submitTheProductForm() {
+        markToasts();
         seleniumUtils.click(bySubmitButtonSelector);
         return this;
     }
 
     public String validatesSuccessNotification() {
-        Wait.waitFor(2);
-        return seleniumUtils.getText(byNotificationToastSelector);
+        return toastTextSinceMark(Duration.ofSeconds(2));
     }
 
     public String verifyFormValidation() {
-        return seleniumUtils.getText(byNotificationToastSelector);
+        return toastTextSinceMark(Duration.ZERO);
     }
 
     public ProductsPage selectCategoryFilter(String category) {
@@ -90,14 +97,21 @@ public class ProductsPage extends BasePage {
     }
 
     public boolean verifyProductsFromCategoryShown(String category) {
-        List<WebElement> elementList = driver.findElements(byFilterProductOptionSelector);
-        for (WebElement element : elementList) {
-            String text = element.getText().toLowerCase();
-            if (!text.contains(category.toLowerCase())) {
-                return false;
-            }
-        }
-        return true;
+        // Let the grid finish re-rendering for the new filter before reading it
+        domWaiter.waitForDomQuiet(ConfigReader.getInstance().getLongProperty("dom.wait.quiet.ms", 300));
+        return getProducts().stream()
+                .map(Product::getCategory)
+                .filter(Objects::nonNull)
+                .allMatch(text -> text.toLowerCase().contains(category.toLowerCase()));
+    }
+
+    /**
+     * @return Name and category of every product card shown, read in one call
+     */
+    public List<Product> getProducts() {
+        List<Product> products = seleniumUtils.extractList(byProductCardSelector, PRODUCT_CARD_FIELDS, Product.class);
+        logger.info("Found {} product cards", products.size());
+        return products;
     }
 
     public ProductsPage clearCategoryFilter() {
@@ -5,6 +5,8 @@ import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 public class SearchPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchPage.class);
@@ -86,7 +88,8 @@ public class SearchPage extends BasePage {
     }
 
     public boolean isSearchResultsHeadingDisplayed() {
-        boolean displayed = seleniumUtils.isElementDisplayed(searchResultsHeading);
+        waitForSearchOutcome();
+        boolean displayed = seleniumUtils.isElementDisplayedNow(searchResultsHeading);
         logger.info("Search results heading displayed: {}", displayed);
         return displayed;
     }
@@ -103,7 +106,8 @@ public class SearchPage extends BasePage {
     }
 
     public boolean isNoResultsMessageDisplayed() {
-        boolean displayed = seleniumUtils.isElementDisplayed(noResultsMessage);
+        waitForSearchOutcome();
+        boolean displayed = seleniumUtils.isElementDisplayedNow(noResultsMessage);
         logger.info("No results message displayed: {}", displayed);
         return displayed;
     }
@@ -119,16 +123,21 @@ public class SearchPage extends BasePage {
         }
     }
 
+    /**
+     * A search ends with either the results heading or the no-results message; wait for whichever comes first
+     * so that checking for the other one does not sit through the implicit wait.
+     */
+    private void waitForSearchOutcome() {
+        seleniumUtils.waitForAnyDisplayed(searchResultsHeading, noResultsMessage);
+    }
+
     public SearchPage performSearch(String searchTerm) {
         logger.info("Performing search for term: {}", searchTerm);
         enterSearchText(searchTerm);
         clickSearchButton();
-        // Wait for search results to load
-        try {
-            Thread.sleep(2000); // Allow time for search operation
-        } catch (InterruptedException e) {
-            logger.warn("Sleep interrupted during search operation");
-        }
+        // Both outcomes echo the term, which tells this search apart from the previous one still on screen
+        domWaiter.replacing(Duration.ofSeconds(2))
+                .waitForTextContaining(searchTerm, searchResultsHeading, noResultsMessage);
         return this;
     }
 
@@ -1,12 +1,12 @@
 package com.automation.pages;
 
-import com.automation.utils.Wait;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 
 public class TasksPage extends BasePage {
@@ -23,7 +23,6 @@ public class TasksPage extends BasePage {
     private final By byTaskPriorityCssSelector = By.cssSelector("form > select:nth-of-type(1)");
     private final By byModeratePriorityCssSelector = By.cssSelector("form > select:nth-of-type(2)");
     private final By bySubmitButtonSelector = By.cssSelector("button[type='submit'], .submit-btn, .create-task-btn");
-    private final By byNotificationToastSelector = By.cssSelector("div.Toastify__toast-container");
     private final By byTaskPrioritySelector = By.cssSelector("form > select:nth-of-type(2) > option");
 
     public TasksPage(WebDriver driver) {
@@ -45,6 +44,7 @@ public class TasksPage extends BasePage {
     public TasksPage createTaskWithDetails(String title, String priority) {
         seleniumUtils.type(byTaskTitleCssSelector, title);
         seleniumUtils.selectByText(byTaskPriorityCssSelector, priority);
+        markToasts();
         seleniumUtils.click(bySubmitButtonSelector);
 
         logger.info("✅ Task creation form submitted: {} ({})", title, priority);
@@ -52,8 +52,7 @@ public class TasksPage extends BasePage {
     }
 
     public boolean verifyTaskCreationSuccess() {
-        Wait.waitFor(2);
-        String notificationText = seleniumUtils.getText(byNotificationToastSelector);
+        String notificationText = toastTextSinceMark(Duration.ofSeconds(2));
         logger.info("✅ Task creation success notification verified");
 
         return notificationText.toLowerCase().contains(ADDED);
@@ -1,6 +1,7 @@
 package com.automation.pages;
 
-import com.automation.utils.Wait;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.UserCard;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -9,15 +10,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UsersPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(UsersPage.class);
-    private static final String USER_CARD_TEXT = "//h3[text()='@name']//parent::div[@class='user-card']";
-    private static final String NAME = "@name";
     private static final String VALUE = "value";
     private static final String USER = "User";
+    private static final Map<String, String> USER_CARD_FIELDS = Map.of(
+            "name", "h3",
+            "details", "");
 
     private final By pageTitle = By.cssSelector("h1, h2");
     private final By usersTable = By.cssSelector("table, .users-table");
@@ -27,7 +32,6 @@ public class UsersPage extends BasePage {
     private final By byNameFieldSelector = By.cssSelector("input[placeholder='Name']");
     private final By byEmailFieldSelector = By.cssSelector("input[placeholder='Email']");
     private final By byRoleFieldSelector = By.cssSelector("form>select");
-    private final By byToastSelector = By.cssSelector("div.Toastify__toast-container");
     private final By byDeleteButtonSelector = By.cssSelector("button[data-testid='delete-user'], .delete-btn, .remove-user");
     private final By byValidationSelector = By.cssSelector(".error, .validation-message, .field-error, .invalid-feedback");
     private final By byRoleSelector = By.cssSelector("form.user-form > select");
@@ -52,36 +56,47 @@ public class UsersPage extends BasePage {
     }
 
     public int getUserCount() {
-        Wait.waitFor(1);
-        List<WebElement> userRows = driver.findElements(byUserCardCssSelector);
-        int count = userRows.size();
+        int count = domWaiter.replacing(Duration.ofSeconds(1)).waitForCountStable(byUserCardCssSelector,
+                ConfigReader.getInstance().getLongProperty("dom.wait.quiet.ms", 300));
         logger.info("Current user count: {}", count);
         return count;
     }
 
     public UsersPage userSubmitsForm() {
+        markToasts();
         seleniumUtils.click(bySubmitButtonSelector);
         logger.info("✅ User creation form submitted");
         return this;
     }
 
     public UsersPage enterUserDetails(String name, String email, String role) {
-        seleniumUtils.type(byNameFieldSelector, name);
-        seleniumUtils.type(byEmailFieldSelector, email);
-        seleniumUtils.selectByText(byRoleFieldSelector, role);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(byNameFieldSelector, name);
+        values.put(byEmailFieldSelector, email);
+        values.put(byRoleFieldSelector, role);
+        seleniumUtils.fillForm(values);
         return this;
     }
 
     public String verifySuccessToastNotification() {
-        Wait.waitFor(2);
-        String toastText = seleniumUtils.getText(byToastSelector);
+        String toastText = toastTextSinceMark(Duration.ofSeconds(2));
         logger.info("✅ Success toast notification verified");
         return toastText;
     }
 
     public boolean verifyUserInList(String name, String email) {
-        By byUserCardSelector = By.xpath(USER_CARD_TEXT.replace(NAME, name));
-        return seleniumUtils.isElementPresent(byUserCardSelector);
+        // The new card renders after the submit round-trip; give it the wait the element lookup used to get
+        domWaiter.waitForTextContaining(name, byUserCardCssSelector);
+        return getUserCards().stream().anyMatch(card -> name.equals(card.getName()));
+    }
+
+    /**
+     * @return Name and full text of every user card shown, read in one call
+     */
+    public List<UserCard> getUserCards() {
+        List<UserCard> cards = seleniumUtils.extractList(byUserCardCssSelector, USER_CARD_FIELDS, UserCard.class);
+        logger.info("Found {} user cards", cards.size());
+        return cards;
     }
 
     public UsersPage attemptToAddUserWithValidation(String name, String email, String role) {
@@ -120,11 +135,11 @@ public class UsersPage extends BasePage {
 
     public boolean verifyFormValidationMessage(String expectedValidation) {
         try {
-            List<WebElement> validationElements = driver.findElements(byValidationSelector);
+            List<String> validationMessages = seleniumUtils.extractTexts(byValidationSelector);
 
-            if (!validationElements.isEmpty()) {
-                boolean validationFound = validationElements.stream()
-                        .anyMatch(element -> element.getText().toLowerCase()
+            if (!validationMessages.isEmpty()) {
+                boolean validationFound = validationMessages.stream()
+                        .anyMatch(message -> message.toLowerCase()
                                 .contains(expectedValidation.toLowerCase().split(" ")[0])); // Check first word
 
                 if (validationFound) {
@@ -0,0 +1,211 @@
+package com.automation.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event-driven waits evaluated inside the browser. Each wait is one async script that re-checks its condition on
+ * every DOM mutation and animation frame (with a timer backstop for throttled tabs) and returns the moment the
+ * condition holds, instead of polling over WebDriver every 500ms or sleeping for a fixed time.
+ * Waits created through {@link #replacing(Duration)} record how much of the fixed sleep they replace was saved.
+ */
+public class DomWaiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomWaiter.class);
+    private static final ThreadLocal<Long> sleepSavedMillis = ThreadLocal.withInitial(() -> 0L);
+    private static final AtomicLong totalSleepSavedMillis = new AtomicLong();
+
+    private static final String WAIT_SCRIPT =
+            "var queries = arguments[0], kind = arguments[1], expected = arguments[2]," +
+            "  quietMs = arguments[3], timeoutMs = arguments[4], done = arguments[arguments.length - 1];" +
+            SeleniumUtils.FIND_FUNCTION +
+            SeleniumUtils.VISIBLE_FUNCTION +
+            "function all() { return queries.reduce(function (found, q) { return found.concat(find(q)); }, []); }" +
+            "function text(e) { return e.innerText.trim(); }" +
+            "var start = performance.now(), lastMutation = start, count = -1, countSince = start;" +
+            "var finished = false, frame, timer, observer;" +
+            "function holds(now) {" +
+            "  if (kind === 'present') return all().length > 0;" +
+            "  if (kind === 'visible') return all().some(visible);" +
+            "  if (kind === 'text-change') { var e = all()[0]; return !!e && text(e) !== expected; }" +
+            "  if (kind === 'text-contains') {" +
+            "    return all().some(function (e) { return text(e).indexOf(expected) >= 0; });" +
+            "  }" +
+            "  if (kind === 'count-stable') {" +
+            "    var c = all().length;" +
+            "    if (c !== count) { count = c; countSince = now; }" +
+            "    return now - countSince >= quietMs;" +
+            "  }" +
+            "  return now - lastMutation >= quietMs;" +
+            "}" +
+            "function finish(satisfied) {" +
+            "  if (finished) return;" +
+            "  finished = true; observer.disconnect(); cancelAnimationFrame(frame); clearTimeout(timer);" +
+            "  done({ satisfied: satisfied, elapsed: Math.round(performance.now() - start), count: all().length });" +
+            "}" +
+            "function check() {" +
+            "  if (finished) return;" +
+            "  var now = performance.now();" +
+            "  if (holds(now)) { finish(true); return; }" +
+            "  if (now - start >= timeoutMs) { finish(false); return; }" +
+            "  cancelAnimationFrame(frame); clearTimeout(timer);" +
+            "  frame = requestAnimationFrame(check); timer = setTimeout(check, 100);" +
+            "}" +
+            "observer = new MutationObserver(function () { lastMutation = performance.now(); check(); });" +
+            "observer.observe(document.documentElement," +
+            "  { childList: true, subtree: true, attributes: true, characterData: true });" +
+            "check();";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration replacedSleep;
+
+    public DomWaiter(WebDriver driver) {
+        this(driver, Duration.ofSeconds(ConfigReader.getInstance().getIntProperty("explicit.wait", 10)), Duration.ZERO);
+    }
+
+    private DomWaiter(WebDriver driver, Duration timeout, Duration replacedSleep) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.replacedSleep = replacedSleep;
+    }
+
+    /**
+     * @param sleep Fixed sleep the next waits stand in for
+     * @return Waiter that records the time saved against that sleep
+     */
+    public DomWaiter replacing(Duration sleep) {
+        return new DomWaiter(driver, timeout, sleep);
+    }
+
+    /**
+     * Wait until any of the locators matches an element
+     *
+     * @return true if an element appeared within the timeout
+     */
+    public boolean waitForPresent(By... locators) {
+        return satisfied(await("present", null, 0, locators));
+    }
+
+    /**
+     * Wait until any of the locators matches a displayed element
+     *
+     * @return true if an element was displayed within the timeout
+     */
+    public boolean waitForVisible(By... locators) {
+        return satisfied(await("visible", null, 0, locators));
+    }
+
+    /**
+     * Wait until the text of the first matching element differs from a previously read value
+     *
+     * @param previousText Text before the action that is expected to change it
+     * @return true if the text changed within the timeout
+     */
+    public boolean waitForTextChange(By locator, String previousText) {
+        return satisfied(await("text-change", previousText, 0, locator));
+    }
+
+    /**
+     * Wait until any element matching the locators shows the expected text
+     *
+     * @param expectedText Text to look for in the element's visible text
+     * @return true if the text appeared within the timeout
+     */
+    public boolean waitForTextContaining(String expectedText, By... locators) {
+        return satisfied(await("text-contains", expectedText, 0, locators));
+    }
+
+    /**
+     * Wait until the number of matching elements has not changed for the quiet period, e.g. a list done rendering
+     *
+     * @param quietMillis How long the count must stay the same
+     * @return Number of matching elements when the wait ended
+     */
+    public int waitForCountStable(By locator, long quietMillis) {
+        return ((Number) await("count-stable", null, quietMillis, locator).get("count")).intValue();
+    }
+
+    /**
+     * Wait until the DOM has not changed for the quiet period
+     *
+     * @param quietMillis How long the DOM must stay unchanged
+     * @return true if the DOM settled within the timeout
+     */
+    public boolean waitForDomQuiet(long quietMillis) {
+        return satisfied(await("quiet", null, quietMillis));
+    }
+
+    /**
+     * Get the fixed-sleep time the waits saved on the current thread since the last call, and reset it
+     *
+     * @return Saved time in milliseconds; negative when waits ran longer than the sleeps they replace
+     */
+    public static long drainSleepSavedMillis() {
+        long saved = sleepSavedMillis.get();
+        sleepSavedMillis.set(0L);
+        return saved;
+    }
+
+    public static long getTotalSleepSavedMillis() {
+        return totalSleepSavedMillis.get();
+    }
+
+    private Map<?, ?> await(String kind, String expected, long quietMillis, By... locators) {
+        List<Map<String, String>> queries = new ArrayList<>();
+        for (By locator : locators) {
+            Map<String, String> query = SeleniumUtils.toQuery(locator);
+            if (query == null) {
+                throw new IllegalArgumentException("DOM waits need a W3C locator, got " + locator);
+            }
+            queries.add(query);
+        }
+
+        Map<?, ?> result = (Map<?, ?>) executeAsync(driver, timeout, WAIT_SCRIPT,
+                queries, kind, expected, quietMillis, timeout.toMillis());
+        long elapsed = ((Number) result.get("elapsed")).longValue();
+        recordSleepSaved(replacedSleep, elapsed);
+        logger.debug("DOM wait '{}' on {} {} after {}ms", kind, queries,
+                Boolean.TRUE.equals(result.get("satisfied")) ? "held" : "timed out", elapsed);
+        return result;
+    }
+
+    /**
+     * Run an async script that ends itself within the timeout, without the WebDriver script timeout cutting it short
+     */
+    static Object executeAsync(WebDriver driver, Duration timeout, String script, Object... args) {
+        Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+        Duration needed = timeout.plusSeconds(5);
+        if (scriptTimeout.compareTo(needed) < 0) {
+            driver.manage().timeouts().scriptTimeout(needed);
+        }
+        try {
+            return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+        } finally {
+            if (scriptTimeout.compareTo(needed) < 0) {
+                driver.manage().timeouts().scriptTimeout(scriptTimeout);
+            }
+        }
+    }
+
+    static void recordSleepSaved(Duration replacedSleep, long elapsedMillis) {
+        if (!replacedSleep.isZero()) {
+            long saved = replacedSleep.toMillis() - elapsedMillis;
+            sleepSavedMillis.set(sleepSavedMillis.get() + saved);
+            totalSleepSavedMillis.addAndGet(saved);
+        }
+    }
+
+    private static boolean satisfied(Map<?, ?> result) {
+        return Boolean.TRUE.equals(result.get("satisfied"));
+    }
+}
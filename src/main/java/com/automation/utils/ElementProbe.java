@@ -0,0 +1,64 @@
+package com.automation.utils;
+
+import org.openqa.selenium.By;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * State of the first element matching a locator, as captured by {@link SeleniumUtils#probe(java.util.List, String...)}
+ */
+public class ElementProbe {
+    private final By locator;
+    private final int count;
+    private final boolean displayed;
+    private final String text;
+    private final Map<String, String> attributes;
+
+    public ElementProbe(By locator, int count, boolean displayed, String text, Map<String, String> attributes) {
+        this.locator = locator;
+        this.count = count;
+        this.displayed = displayed;
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    /**
+     * @return Number of elements matching the locator
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isPresent() {
+        return count > 0;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    /**
+     * @return Visible text of the first matching element, or null when nothing matches
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @param name Attribute or property name requested in the probe
+     * @return Value like {@link org.openqa.selenium.WebElement#getAttribute(String)}, or null
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return locator + " [count=" + count + ", displayed=" + displayed + "]";
+    }
+}
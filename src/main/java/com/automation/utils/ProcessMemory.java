@@ -0,0 +1,54 @@
+package com.automation.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Resident memory of operating system processes, read from /proc on Linux.
+ * Every method returns -1 where /proc is not available.
+ */
+public final class ProcessMemory {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessMemory() {
+    }
+
+    public static boolean isSupported() {
+        return Files.isDirectory(PROC.resolve("self"));
+    }
+
+    /**
+     * @param pid Process id
+     * @return Resident set size of the process in bytes, or -1 when unknown
+     */
+    public static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(pid + "/status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or /proc is unavailable
+        }
+        return -1;
+    }
+
+    /**
+     * Sum the resident memory of every process started by this JVM, e.g. drivers and browsers
+     *
+     * @return Resident bytes of all descendant processes, or -1 when unknown
+     */
+    public static long descendantResidentBytes() {
+        if (!isSupported()) {
+            return -1;
+        }
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> Math.max(0, residentBytes(process.pid())))
+                .sum();
+    }
+}
@@ -1,5 +1,8 @@
 package com.automation.utils;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 public class Product {
     private final String name;
     private final String price;
@@ -7,7 +10,10 @@ public class Product {
     private final String stock;
     private final String description;
 
-    public Product(String name, String price, String category, String stock, String description) {
+    @JsonCreator
+    public Product(@JsonProperty("name") String name, @JsonProperty("price") String price,
+                   @JsonProperty("category") String category, @JsonProperty("stock") String stock,
+                   @JsonProperty("description") String description) {
         this.name = name;
         this.price = price;
         this.category = category;
@@ -1,5 +1,8 @@
 package com.automation.utils;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -9,8 +12,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Selenium utility class with common WebDriver operations
@@ -20,14 +35,115 @@ public class SeleniumUtils {
     private static final Logger logger = LoggerFactory.getLogger(SeleniumUtils.class);
     private static final int DEFAULT_TIMEOUT = 10;
 
+    // Zero-implicit-wait probes may nest; only the outermost one suspends and restores the implicit wait
+    private static final ThreadLocal<Integer> zeroWaitDepth = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Duration> suspendedImplicitWait = ThreadLocal.withInitial(() -> Duration.ZERO);
+    private static final ThreadLocal<Long> implicitWaitSavedMillis = ThreadLocal.withInitial(() -> 0L);
+    private static final AtomicLong totalImplicitWaitSavedMillis = new AtomicLong();
+
+    // Resolves a W3C locator strategy and value to the matching elements, in document order
+    static final String FIND_FUNCTION =
+            "function find(q) {" +
+            "  var u = q.using, v = q.value;" +
+            "  try {" +
+            "    if (u === 'css selector') return Array.from(document.querySelectorAll(v));" +
+            "    if (u === 'id') return Array.from(document.querySelectorAll('#' + CSS.escape(v)));" +
+            "    if (u === 'name') return Array.from(document.getElementsByName(v));" +
+            "    if (u === 'class name') return Array.from(document.getElementsByClassName(v));" +
+            "    if (u === 'tag name') return Array.from(document.getElementsByTagName(v));" +
+            "    if (u === 'xpath') {" +
+            "      var out = [], r = document.evaluate(v, document, null," +
+            "        XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      for (var i = 0; i < r.snapshotLength; i++) out.push(r.snapshotItem(i));" +
+            "      return out;" +
+            "    }" +
+            "    return Array.from(document.getElementsByTagName('a')).filter(function (a) {" +
+            "      var t = a.innerText.trim(); return u === 'link text' ? t === v : t.indexOf(v) >= 0; });" +
+            "  } catch (e) { return []; }" +
+            "}";
+
+    // Approximates WebElement.isDisplayed(): laid out, not hidden and not fully transparent
+    static final String VISIBLE_FUNCTION =
+            "function visible(e) {" +
+            "  var s = window.getComputedStyle(e);" +
+            "  return e.getClientRects().length > 0 && s.visibility !== 'hidden' && s.visibility !== 'collapse'" +
+            "    && parseFloat(s.opacity) !== 0;" +
+            "}";
+
+    // One lookup per query; reports count, visibility, text and requested attributes of the first match
+    private static final String PROBE_SCRIPT =
+            "var queries = arguments[0], names = arguments[1];" +
+            FIND_FUNCTION +
+            VISIBLE_FUNCTION +
+            "function attr(e, n) {" +
+            "  var p = e[n];" +
+            "  if (p === true || p === false) return p ? 'true' : null;" +
+            "  if (p != null && typeof p !== 'object' && typeof p !== 'function') return String(p);" +
+            "  return e.getAttribute(n);" +
+            "}" +
+            "return queries.map(function (q) {" +
+            "  var found = find(q), first = found[0], attributes = {};" +
+            "  var shown = !!first && visible(first);" +
+            "  if (first) names.forEach(function (n) { attributes[n] = attr(first, n); });" +
+            "  var text = first ? (shown ? first.innerText.trim() : '') : null;" +
+            "  return { count: found.length, displayed: shown, text: text, attributes: attributes };" +
+            "});";
+
+    // Reads one record per container match as a single JSON string, so thousands of rows cost one round-trip.
+    // Field specs arrive already split into selector and attribute by parseField.
+    private static final String EXTRACT_SCRIPT =
+            "var fields = arguments[1];" +
+            FIND_FUNCTION +
+            "return JSON.stringify(find(arguments[0]).map(function (container) {" +
+            "  var row = {};" +
+            "  Object.keys(fields).forEach(function (key) {" +
+            "    var selector = fields[key].selector, attribute = fields[key].attribute;" +
+            "    var e = selector ? container.querySelector(selector) : container;" +
+            "    row[key] = !e ? null : attribute ? e.getAttribute(attribute) : e.innerText.trim();" +
+            "  });" +
+            "  return row;" +
+            "}));";
+    // A field spec's attribute suffix: '@' followed by an attribute name at the very end, so an '@' inside an
+    // attribute selector such as a[href^="mailto:x@y"] stays part of the selector
+    private static final Pattern ATTRIBUTE_SUFFIX = Pattern.compile("^(.*)@([A-Za-z_:][-A-Za-z0-9_:.]*)$");
+    // Fills every field or none: reports the fields (or select options) not rendered yet so the caller can retry,
+    // and the fields that have no native value setter (e.g. contenteditable) so the caller can type instead.
+    // Values go through the element's own prototype setter so React's value tracking sees them, then input and
+    // change events are fired the way typing or picking an option would.
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0];" +
+            FIND_FUNCTION +
+            "var settable = { INPUT: HTMLInputElement, TEXTAREA: HTMLTextAreaElement, SELECT: HTMLSelectElement };" +
+            "function optionFor(select, text) {" +
+            "  return Array.from(select.options).filter(function (o) { return o.text.trim() === text; })[0];" +
+            "}" +
+            "var targets = fields.map(function (f) { return find(f.query)[0]; }), pending = [], unsupported = [];" +
+            "targets.forEach(function (e, i) {" +
+            "  if (!e || (e.tagName === 'SELECT' && !optionFor(e, fields[i].value))) pending.push(i);" +
+            "  else if (!settable[e.tagName]) unsupported.push(i);" +
+            "});" +
+            "if (pending.length || unsupported.length) return { pending: pending, unsupported: unsupported };" +
+            "targets.forEach(function (e, i) {" +
+            "  var value = fields[i].value;" +
+            "  if (e.tagName === 'SELECT') value = optionFor(e, value).value;" +
+            "  Object.getOwnPropertyDescriptor(settable[e.tagName].prototype, 'value').set.call(e, value);" +
+            "  e.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "  e.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "});" +
+            "return { pending: pending, unsupported: unsupported };";
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
     private final WebDriver driver;
     private final WebDriverWait wait;
     private final Actions actions;
+    private boolean keystrokeInput;
 
     public SeleniumUtils(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
         this.actions = new Actions(driver);
+        this.keystrokeInput = ConfigReader.getInstance().getBooleanProperty("form.fill.keystrokes", false);
     }
 
     /**
@@ -51,6 +167,358 @@ public class SeleniumUtils {
         return driver.findElements(locator).size() > 0;
     }
 
+    /**
+     * Run a probe with the implicit wait switched off, restoring the previous implicit wait afterwards.
+     * Use for checks where the element may legitimately be absent, so a miss costs one round-trip
+     * instead of the full implicit wait.
+     *
+     * @param probe Probe to run
+     * @return Probe result
+     */
+    public <T> T withoutImplicitWait(Supplier<T> probe) {
+        int depth = zeroWaitDepth.get();
+        if (depth == 0) {
+            suspendedImplicitWait.set(driver.manage().timeouts().getImplicitWaitTimeout());
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        zeroWaitDepth.set(depth + 1);
+        try {
+            return probe.get();
+        } finally {
+            zeroWaitDepth.set(depth);
+            if (depth == 0) {
+                driver.manage().timeouts().implicitlyWait(suspendedImplicitWait.get());
+            }
+        }
+    }
+
+    /**
+     * Check if element is in the DOM right now, without waiting
+     *
+     * @param locator Element locator
+     * @return true if at least one matching element exists
+     */
+    public boolean isElementPresentNow(By locator) {
+        long start = System.currentTimeMillis();
+        boolean present = withoutImplicitWait(() -> !driver.findElements(locator).isEmpty());
+        if (!present) {
+            recordImplicitWaitSaved(start);
+        }
+        logger.debug("Element {} present now: {}", locator, present);
+        return present;
+    }
+
+    /**
+     * Check if element is displayed right now, without waiting
+     *
+     * @param locator Element locator
+     * @return true if any matching element is displayed
+     */
+    public boolean isElementDisplayedNow(By locator) {
+        long start = System.currentTimeMillis();
+        List<WebElement> elements = withoutImplicitWait(() -> driver.findElements(locator));
+        if (elements.isEmpty()) {
+            // Only an empty lookup would have blocked; hidden matches return at once under the implicit wait too
+            recordImplicitWaitSaved(start);
+        }
+        boolean displayed = anyDisplayed(elements);
+        logger.debug("Element {} displayed now: {}", locator, displayed);
+        return displayed;
+    }
+
+    /**
+     * Check that no element matches the locator right now
+     *
+     * @param locator Element locator
+     * @return true if the element is absent from the DOM
+     */
+    public boolean isElementAbsent(By locator) {
+        return !isElementPresentNow(locator);
+    }
+
+    /**
+     * Wait until an element disappears or is hidden
+     *
+     * @param locator Element locator
+     * @return true if the element is gone within the timeout
+     */
+    public boolean waitForElementAbsent(By locator) {
+        try {
+            return withoutImplicitWait(() -> wait.until(ExpectedConditions.invisibilityOfElementLocated(locator)));
+        } catch (TimeoutException e) {
+            logger.debug("Element still visible after timeout: {}", locator);
+            return false;
+        }
+    }
+
+    /**
+     * Wait until one of several mutually exclusive outcomes is displayed, e.g. a result list or an empty-state message.
+     * Locators that are absent are polled without the implicit wait, so the first displayed outcome wins immediately.
+     *
+     * @param locators Candidate element locators
+     * @return The first locator with a displayed element, or null if none appeared within the timeout
+     */
+    public By waitForAnyDisplayed(By... locators) {
+        try {
+            return withoutImplicitWait(() -> wait.until(webDriver -> {
+                for (By locator : locators) {
+                    if (anyDisplayed(locator)) {
+                        return locator;
+                    }
+                }
+                return null;
+            }));
+        } catch (TimeoutException e) {
+            logger.debug("None of the elements displayed within timeout: {}", (Object) locators);
+            return null;
+        }
+    }
+
+    /**
+     * Capture count, visibility, text and the given attributes of the first element of every locator in one script
+     * execution, instead of one or more WebDriver round-trips per locator. Does not wait.
+     *
+     * @param locators   Element locators
+     * @param attributes Attribute or property names to read for each element, e.g. "value" or "disabled"
+     * @return Probe per locator, in locator order
+     */
+    public Map<By, ElementProbe> probe(List<By> locators, String... attributes) {
+        List<Map<String, String>> queries = new ArrayList<>();
+        for (By locator : locators) {
+            Map<String, String> query = toQuery(locator);
+            if (query == null) {
+                return probeEach(locators, attributes);
+            }
+            queries.add(query);
+        }
+
+        List<?> states = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(PROBE_SCRIPT, queries, Arrays.asList(attributes));
+        Map<By, ElementProbe> probes = new LinkedHashMap<>();
+        for (int i = 0; i < locators.size(); i++) {
+            Map<?, ?> state = (Map<?, ?>) states.get(i);
+            Map<String, String> values = new HashMap<>();
+            ((Map<?, ?>) state.get("attributes")).forEach((name, value) ->
+                    values.put(String.valueOf(name), value == null ? null : String.valueOf(value)));
+            probes.put(locators.get(i), new ElementProbe(locators.get(i), ((Number) state.get("count")).intValue(),
+                    Boolean.TRUE.equals(state.get("displayed")), (String) state.get("text"), values));
+        }
+        logger.debug("Probed {} locators in one script execution: {}", locators.size(), probes.values());
+        return probes;
+    }
+
+    /**
+     * Wait until every locator matches at least one element, then probe them all; see {@link #probe(List, String...)}.
+     * Each poll is a single script execution.
+     *
+     * @param locators   Element locators
+     * @param attributes Attribute or property names to read for each element
+     * @return Probe per locator, in locator order; the last probe if some locators are still absent at the timeout
+     */
+    public Map<By, ElementProbe> waitForAllPresent(List<By> locators, String... attributes) {
+        AtomicReference<Map<By, ElementProbe>> last = new AtomicReference<>();
+        try {
+            return wait.until(webDriver -> {
+                last.set(probe(locators, attributes));
+                return last.get().values().stream().allMatch(ElementProbe::isPresent) ? last.get() : null;
+            });
+        } catch (TimeoutException e) {
+            logger.debug("Not every element present within timeout: {}", last.get().values());
+            return last.get();
+        }
+    }
+
+    /**
+     * Check that every locator has a displayed first element, waiting for missing elements like
+     * {@link #isElementDisplayed(By)} does, in one script execution per poll
+     *
+     * @param locators Element locators
+     * @return true if all are displayed
+     */
+    public boolean areAllDisplayed(List<By> locators) {
+        return waitForAllPresent(locators).values().stream().allMatch(ElementProbe::isDisplayed);
+    }
+
+    /**
+     * Read every element matching the container locator into a record, in one script execution that returns a
+     * single JSON payload, instead of one or more WebDriver round-trips per element and field. Does not wait.
+     * Each field maps a record property to a CSS selector relative to the container whose visible text is read;
+     * an empty selector reads the container itself and a trailing "@name" reads that attribute instead,
+     * e.g. "h3", ":scope > p:nth-of-type(2)", "a@href" or "@value". An '@' anywhere else, as in
+     * a[href^="mailto:x@y"], is part of the selector. Fields whose element is missing are null.
+     *
+     * @param container Locator matching one element per record
+     * @param fields    Record property name to field selector
+     * @param type      Record type, deserialized by Jackson
+     * @return One record per matching container, in document order
+     * @throws IllegalArgumentException if a field spec ends in '@' without an attribute name
+     */
+    public <T> List<T> extractList(By container, Map<String, String> fields, Class<T> type) {
+        Map<String, Map<String, String>> parsedFields = new LinkedHashMap<>();
+        fields.forEach((key, spec) -> parsedFields.put(key, parseField(key, spec)));
+        Map<String, String> query = toQuery(container);
+        List<Map<String, String>> rows = query == null
+                ? extractEach(container, parsedFields)
+                : parseRows((String) ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, query, parsedFields));
+        List<T> records = mapper.convertValue(rows, mapper.getTypeFactory().constructCollectionType(List.class, type));
+        logger.debug("Extracted {} {} record(s) from {}", records.size(), type.getSimpleName(), container);
+        return records;
+    }
+
+    /**
+     * Read the visible text of every element matching the locator in one script execution
+     *
+     * @param locator Element locator
+     * @return Text per element, in document order
+     */
+    public List<String> extractTexts(By locator) {
+        List<String> texts = new ArrayList<>();
+        for (Map<?, ?> row : extractList(locator, Collections.singletonMap("text", ""), Map.class)) {
+            texts.add((String) row.get("text"));
+        }
+        return texts;
+    }
+
+    /**
+     * @return W3C locator strategy and value of a locator, or null for custom and chained locators, which only
+     * resolve through WebDriver
+     */
+    static Map<String, String> toQuery(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        Map<String, String> query = new HashMap<>();
+        query.put("using", parameters.using());
+        query.put("value", String.valueOf(parameters.value()));
+        return query;
+    }
+
+    /**
+     * Split a field spec into its CSS selector and optional trailing attribute name
+     */
+    private static Map<String, String> parseField(String key, String spec) {
+        Map<String, String> field = new HashMap<>();
+        Matcher attribute = ATTRIBUTE_SUFFIX.matcher(spec);
+        if (attribute.matches()) {
+            field.put("selector", attribute.group(1).trim());
+            field.put("attribute", attribute.group(2));
+        } else if (spec.endsWith("@")) {
+            throw new IllegalArgumentException("Field '" + key + "' ends in '@' without an attribute name: " + spec);
+        } else {
+            field.put("selector", spec.trim());
+            field.put("attribute", null);
+        }
+        return field;
+    }
+
+    private static List<Map<String, String>> parseRows(String json) {
+        try {
+            return mapper.readValue(json, new TypeReference<List<Map<String, String>>>() {
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable extraction result", e);
+        }
+    }
+
+    private List<Map<String, String>> extractEach(By container, Map<String, Map<String, String>> fields) {
+        return withoutImplicitWait(() -> {
+            List<Map<String, String>> rows = new ArrayList<>();
+            for (WebElement element : driver.findElements(container)) {
+                Map<String, String> row = new HashMap<>();
+                fields.forEach((key, field) -> {
+                    String selector = field.get("selector");
+                    String attribute = field.get("attribute");
+                    List<WebElement> matches = selector.isEmpty()
+                            ? Collections.singletonList(element) : element.findElements(By.cssSelector(selector));
+                    row.put(key, matches.isEmpty() ? null
+                            : attribute != null ? matches.get(0).getAttribute(attribute) : matches.get(0).getText());
+                });
+                rows.add(row);
+            }
+            return rows;
+        });
+    }
+
+    private void fillEach(Map<By, String> values) {
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            WebElement element = waitForElementVisible(entry.getKey());
+            String value = entry.getValue();
+            if (!"select".equalsIgnoreCase(element.getTagName())) {
+                element.clear();
+                element.sendKeys(value);
+                continue;
+            }
+            new Select(element).getOptions().stream().filter(o -> o.getText().trim().equals(value)).findFirst()
+                    .orElseThrow(() -> new NoSuchElementException("Cannot locate option with text: " + value))
+                    .click();
+        }
+        logger.debug("Typed {} form field(s) key by key: {}", values.size(), values.keySet());
+    }
+
+    private Map<By, ElementProbe> probeEach(List<By> locators, String... attributes) {
+        return withoutImplicitWait(() -> {
+            Map<By, ElementProbe> probes = new LinkedHashMap<>();
+            for (By locator : locators) {
+                List<WebElement> elements = driver.findElements(locator);
+                boolean displayed = false;
+                String text = null;
+                Map<String, String> values = new HashMap<>();
+                if (!elements.isEmpty()) {
+                    WebElement first = elements.get(0);
+                    displayed = first.isDisplayed();
+                    text = first.getText();
+                    for (String attribute : attributes) {
+                        values.put(attribute, first.getAttribute(attribute));
+                    }
+                }
+                probes.put(locator, new ElementProbe(locator, elements.size(), displayed, text, values));
+            }
+            return probes;
+        });
+    }
+
+    /**
+     * Get the implicit-wait time the zero-wait probes saved on the current thread since the last call, and reset it
+     *
+     * @return Saved time in milliseconds
+     */
+    public static long drainImplicitWaitSavedMillis() {
+        long saved = implicitWaitSavedMillis.get();
+        implicitWaitSavedMillis.set(0L);
+        return saved;
+    }
+
+    public static long getTotalImplicitWaitSavedMillis() {
+        return totalImplicitWaitSavedMillis.get();
+    }
+
+    private boolean anyDisplayed(By locator) {
+        return anyDisplayed(driver.findElements(locator));
+    }
+
+    private static boolean anyDisplayed(List<WebElement> elements) {
+        for (WebElement element : elements) {
+            try {
+                if (element.isDisplayed()) {
+                    return true;
+                }
+            } catch (StaleElementReferenceException e) {
+                // Element re-rendered between lookup and check; treat it like any other miss
+            }
+        }
+        return false;
+    }
+
+    private void recordImplicitWaitSaved(long startMillis) {
+        // A miss under the implicit wait would have blocked for the full wait before returning
+        long saved = suspendedImplicitWait.get().toMillis() - (System.currentTimeMillis() - startMillis);
+        if (saved > 0) {
+            implicitWaitSavedMillis.set(implicitWaitSavedMillis.get() + saved);
+            totalImplicitWaitSavedMillis.addAndGet(saved);
+        }
+    }
+
     /**
      * Wait for element to be clickable and return it
      *
@@ -107,6 +575,69 @@ public class SeleniumUtils {
         logger.debug("Typed '{}' into element: {}", text, locator);
     }
 
+    /**
+     * Fill several inputs, textareas and selects in one script execution instead of a wait, clear and sendKeys
+     * per field. Values are set through the native value setter and announced with input and change events, which
+     * is what React controlled components listen to. A select gets the option whose visible text equals the value,
+     * like {@link Select#selectByVisibleText(String)}. Waits until every field and option is present, then fills all
+     * of them. With {@link #setKeystrokeInput(boolean)}, or when a field is neither an input, a textarea nor a select,
+     * fields are typed key by key and options clicked instead.
+     *
+     * @param values Field locator to value, in fill order; null values leave the field untouched
+     */
+    public void fillForm(Map<By, String> values) {
+        Map<By, String> fill = new LinkedHashMap<>(values);
+        fill.values().removeIf(value -> value == null);
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (Map.Entry<By, String> entry : fill.entrySet()) {
+            Map<String, String> query = toQuery(entry.getKey());
+            if (keystrokeInput || query == null) {
+                fillEach(fill);
+                return;
+            }
+            Map<String, Object> field = new HashMap<>();
+            field.put("query", query);
+            field.put("value", entry.getValue());
+            fields.add(field);
+        }
+
+        AtomicReference<List<?>> pending = new AtomicReference<>();
+        AtomicReference<List<?>> unsupported = new AtomicReference<>();
+        try {
+            wait.until(webDriver -> {
+                Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) webDriver).executeScript(FILL_SCRIPT, fields);
+                pending.set((List<?>) result.get("pending"));
+                unsupported.set((List<?>) result.get("unsupported"));
+                return pending.get().isEmpty() ? Boolean.TRUE : null;
+            });
+        } catch (TimeoutException e) {
+            List<By> locators = new ArrayList<>(fill.keySet());
+            List<String> missing = new ArrayList<>();
+            for (Object index : pending.get()) {
+                By locator = locators.get(((Number) index).intValue());
+                missing.add(locator + " = '" + fill.get(locator) + "'");
+            }
+            throw new NoSuchElementException("Form fields or options not found: " + missing);
+        }
+        if (!unsupported.get().isEmpty()) {
+            // Nothing was set; contenteditable and similar fields have no value setter to go through
+            logger.debug("Form has fields without a native value setter, typing it instead: {}", fill.keySet());
+            fillEach(fill);
+            return;
+        }
+        logger.debug("Filled {} form field(s) in one script execution: {}", fill.size(), fill.keySet());
+    }
+
+    /**
+     * Make {@link #fillForm(Map)} type every value key by key and click select options, for tests that cover
+     * typing behaviour. Defaults to form.fill.keystrokes.
+     *
+     * @param keystrokeInput true to type, false to set values in one script
+     */
+    public void setKeystrokeInput(boolean keystrokeInput) {
+        this.keystrokeInput = keystrokeInput;
+    }
+
     /**
      * Get text from element with wait
      *
@@ -0,0 +1,79 @@
+package com.automation.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Durations of recent passing runs per test, persisted as JSON between runs.
+ * Keeps the last maxSamples durations of every test so percentiles follow the test as it changes.
+ */
+public class TestDurationHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDurationHistory.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path file;
+    private final int maxSamples;
+    private final Map<String, List<Long>> durations = new HashMap<>();
+
+    public TestDurationHistory(Path file, int maxSamples) {
+        this.file = file;
+        this.maxSamples = maxSamples;
+        load();
+    }
+
+    public synchronized void record(String testId, long millis) {
+        List<Long> samples = durations.computeIfAbsent(testId, id -> new ArrayList<>());
+        samples.add(millis);
+        while (samples.size() > maxSamples) {
+            samples.remove(0);
+        }
+    }
+
+    public synchronized int count(String testId) {
+        return durations.getOrDefault(testId, new ArrayList<>()).size();
+    }
+
+    /**
+     * @param testId     Test identifier
+     * @param percentile Percentile between 0 and 100
+     * @return Duration at the given percentile, or 0 when the test has no history
+     */
+    public synchronized long percentile(String testId, double percentile) {
+        TimingStats stats = new TimingStats(testId);
+        durations.getOrDefault(testId, new ArrayList<>()).forEach(stats::record);
+        return stats.percentile(percentile);
+    }
+
+    public synchronized void save() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), new TreeMap<>(durations));
+        } catch (IOException e) {
+            logger.warn("Failed to save test duration history to {}", file, e);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            durations.putAll(mapper.readValue(file.toFile(), new TypeReference<Map<String, List<Long>>>() {
+            }));
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable test duration history {}", file, e);
+        }
+    }
+}
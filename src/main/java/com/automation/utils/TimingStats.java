@@ -0,0 +1,73 @@
+package com.automation.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thread-safe collector of duration samples (in milliseconds) with percentile summaries
+ */
+public class TimingStats {
+
+    private final String name;
+    private final List<Long> samples = new ArrayList<>();
+
+    public TimingStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a single duration sample
+     *
+     * @param millis Duration in milliseconds
+     */
+    public synchronized void record(long millis) {
+        samples.add(millis);
+    }
+
+    public synchronized int count() {
+        return samples.size();
+    }
+
+    public synchronized long total() {
+        long total = 0;
+        for (long sample : samples) {
+            total += sample;
+        }
+        return total;
+    }
+
+    public synchronized double average() {
+        return samples.isEmpty() ? 0 : (double) total() / samples.size();
+    }
+
+    public synchronized long max() {
+        return samples.isEmpty() ? 0 : Collections.max(samples);
+    }
+
+    /**
+     * Get the nearest-rank percentile of the recorded samples
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Sample at the given percentile, or 0 when nothing was recorded
+     */
+    public synchronized long percentile(double percentile) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+    }
+
+    public synchronized String summary() {
+        return String.format("%s: count=%d, avg=%.1fms, p50=%dms, p95=%dms, p99=%dms, max=%dms, total=%dms",
+                name, count(), average(), percentile(50), percentile(95), percentile(99), max(), total());
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,52 @@
+package com.automation.utils;
+
+/**
+ * A toast notification as captured by {@link ToastRecorder}. Times are browser epoch milliseconds.
+ */
+public class Toast {
+    private final String text;
+    private final String type;
+    private final long shownAt;
+    private final Long dismissedAt;
+
+    public Toast(String text, String type, long shownAt, Long dismissedAt) {
+        this.text = text;
+        this.type = type;
+        this.shownAt = shownAt;
+        this.dismissedAt = dismissedAt;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return Toastify type: success, error, warning, info or default
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return When the toast was added to the page; 0 if it was already shown when the recorder started
+     */
+    public long getShownAt() {
+        return shownAt;
+    }
+
+    /**
+     * @return When the toast was removed from the page, or null while it is still shown
+     */
+    public Long getDismissedAt() {
+        return dismissedAt;
+    }
+
+    public boolean isDismissed() {
+        return dismissedAt != null;
+    }
+
+    @Override
+    public String toString() {
+        return type + " toast '" + text + "'";
+    }
+}
@@ -0,0 +1,192 @@
+package com.automation.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.DevToolsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records every Toastify notification of a page into an in-page buffer with its text, type and shown/dismissed
+ * times, so a toast can be read after the fact instead of sleeping and hoping it is still on screen.
+ * {@link #install(WebDriver)} registers the recorder to run at document start of every page of a local Chromium
+ * session; on other browsers, or when DevTools refuses the script, it is installed into the current page by
+ * {@link #mark()}, which page objects call before the action that raises the toast anyway.
+ */
+public class ToastRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToastRecorder.class);
+
+    private static final String RECORDER_SCRIPT =
+            "(function () {" +
+            "  if (window.__toastRecorder) return;" +
+            "  var recorder = window.__toastRecorder = { toasts: [], listeners: [] }, live = [];" +
+            "  function typeOf(el) {" +
+            "    var m = /Toastify__toast--(\\w+)/.exec(el.className);" +
+            "    return m ? m[1] : 'default';" +
+            "  }" +
+            "  function scan(node, shownAt) {" +
+            "    if (node.nodeType !== 1) return;" +
+            "    var found = node.matches('.Toastify__toast') ? [node] : node.querySelectorAll('.Toastify__toast');" +
+            "    for (var i = 0; i < found.length; i++) {" +
+            "      var el = found[i];" +
+            "      if (live.some(function (l) { return l.el === el; })) continue;" +
+            "      var toast = { text: '', type: typeOf(el), shownAt: shownAt, dismissedAt: null };" +
+            "      recorder.toasts.push(toast);" +
+            "      if (recorder.toasts.length > 100) recorder.toasts.shift();" +
+            "      live.push({ el: el, toast: toast });" +
+            "    }" +
+            "  }" +
+            "  function update() {" +
+            "    live = live.filter(function (l) {" +
+            "      if (!l.el.isConnected) { l.toast.dismissedAt = Date.now(); return false; }" +
+            "      var text = l.el.innerText.trim();" +
+            "      if (text) l.toast.text = text;" +
+            "      l.toast.type = typeOf(l.el);" +
+            "      return true;" +
+            "    });" +
+            "    recorder.listeners.slice().forEach(function (listener) { listener(); });" +
+            "  }" +
+            "  new MutationObserver(function (mutations) {" +
+            "    var now = Date.now();" +
+            "    mutations.forEach(function (m) {" +
+            "      for (var i = 0; i < m.addedNodes.length; i++) scan(m.addedNodes[i], now);" +
+            "    });" +
+            "    update();" +
+            "  }).observe(document, { childList: true, subtree: true, characterData: true });" +
+            "  if (document.documentElement) { scan(document.documentElement, 0); update(); }" +
+            "})();";
+
+    private static final String MARK_SCRIPT = RECORDER_SCRIPT + "return Date.now();";
+
+    private static final String READ_SCRIPT = RECORDER_SCRIPT +
+            "var since = arguments[0];" +
+            "return window.__toastRecorder.toasts.filter(function (t) { return t.shownAt >= since && t.text; });";
+
+    private static final String WAIT_SCRIPT = RECORDER_SCRIPT +
+            "var since = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+            "var recorder = window.__toastRecorder, finished = false, timer;" +
+            "function finish(toast) {" +
+            "  if (finished) return;" +
+            "  finished = true; clearTimeout(timer);" +
+            "  recorder.listeners.splice(recorder.listeners.indexOf(check), 1);" +
+            "  done(toast);" +
+            "}" +
+            "function check() {" +
+            "  var toast = recorder.toasts.filter(function (t) { return t.shownAt >= since && t.text; })[0];" +
+            "  if (toast) finish(toast);" +
+            "}" +
+            "recorder.listeners.push(check);" +
+            "timer = setTimeout(function () { finish(null); }, timeoutMs);" +
+            "check();";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration replacedSleep;
+
+    public ToastRecorder(WebDriver driver) {
+        this(driver, Duration.ofSeconds(ConfigReader.getInstance().getIntProperty("explicit.wait", 10)), Duration.ZERO);
+    }
+
+    private ToastRecorder(WebDriver driver, Duration timeout, Duration replacedSleep) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.replacedSleep = replacedSleep;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getInstance().getBooleanProperty("toast.recorder.enabled", false);
+    }
+
+    /**
+     * Register the recorder to run at document start of every page the session loads, so toasts raised during or
+     * right after a navigation are captured too. Applies to the session's current window and must run before its
+     * first navigation.
+     *
+     * @param webDriver Session to install on
+     * @return true if installed; false when the session is not a local Chromium session or DevTools refused the
+     * script, and the recorder is installed per page by {@link #mark()} instead
+     */
+    public static boolean install(WebDriver webDriver) {
+        if (!(webDriver instanceof ChromiumDriver)) {
+            logger.debug("Toast recorder not preloaded: {} is not a Chromium session",
+                    webDriver.getClass().getSimpleName());
+            return false;
+        }
+        try {
+            DevTools devTools = ((ChromiumDriver) webDriver).getDevTools();
+            devTools.createSessionIfThereIsNotOne(webDriver.getWindowHandle());
+            devTools.send(new Command<Void>("Page.addScriptToEvaluateOnNewDocument",
+                    Collections.singletonMap("source", RECORDER_SCRIPT)));
+            return true;
+        } catch (DevToolsException e) {
+            logger.warn("Toast recorder not preloaded, installing per page instead: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param sleep Fixed sleep the next waits stand in for
+     * @return Recorder whose waits record the time saved against that sleep
+     */
+    public ToastRecorder replacing(Duration sleep) {
+        return new ToastRecorder(driver, timeout, sleep);
+    }
+
+    /**
+     * Mark the current point in time, before the action whose toast is expected
+     *
+     * @return Browser time to pass to {@link #toastsSince(long)} and {@link #waitForToastSince(long)}
+     */
+    public long mark() {
+        return ((Number) ((JavascriptExecutor) driver).executeScript(MARK_SCRIPT)).longValue();
+    }
+
+    /**
+     * Toasts shown since the mark, including ones that were already dismissed, in the order they appeared
+     *
+     * @param mark Value returned by {@link #mark()}
+     * @return Recorded toasts with text; empty if none has appeared yet
+     */
+    public List<Toast> toastsSince(long mark) {
+        List<Toast> toasts = new ArrayList<>();
+        for (Object toast : (List<?>) ((JavascriptExecutor) driver).executeScript(READ_SCRIPT, mark)) {
+            toasts.add(toToast((Map<?, ?>) toast));
+        }
+        return toasts;
+    }
+
+    /**
+     * Wait for the first toast shown since the mark. Returns at once if it was already recorded, even if it has been
+     * dismissed since; otherwise the recorder hands it over as soon as it appears.
+     *
+     * @param mark Value returned by {@link #mark()}
+     * @return First toast since the mark, or null if none appeared within the timeout
+     */
+    public Toast waitForToastSince(long mark) {
+        long start = System.currentTimeMillis();
+        Object result = DomWaiter.executeAsync(driver, timeout, WAIT_SCRIPT, mark, timeout.toMillis());
+        long elapsed = System.currentTimeMillis() - start;
+        DomWaiter.recordSleepSaved(replacedSleep, elapsed);
+
+        Toast toast = result == null ? null : toToast((Map<?, ?>) result);
+        logger.debug("Toast wait returned {} after {}ms", toast, elapsed);
+        return toast;
+    }
+
+    private static Toast toToast(Map<?, ?> toast) {
+        Object dismissedAt = toast.get("dismissedAt");
+        return new Toast(String.valueOf(toast.get("text")), String.valueOf(toast.get("type")),
+                ((Number) toast.get("shownAt")).longValue(),
+                dismissedAt == null ? null : ((Number) dismissedAt).longValue());
+    }
+}
@@ -0,0 +1,26 @@
+package com.automation.utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class UserCard {
+    private final String name;
+    private final String details;
+
+    @JsonCreator
+    public UserCard(@JsonProperty("name") String name, @JsonProperty("details") String details) {
+        this.name = name;
+        this.details = details;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Full visible text of the card, including email and role
+     */
+    public String getDetails() {
+        return details;
+    }
+}
@@ -0,0 +1,85 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual threads when the JVM has them (JDK 21+), platform threads otherwise.
+ * The project compiles for Java 11, so the JDK 21 API is reached through reflection and resolved once.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+    private static final Method OF_VIRTUAL = resolveOfVirtual();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true when the running JVM can start virtual threads
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Thread factory for worker threads named prefix-N
+     *
+     * @param prefix Thread name prefix
+     * @return Virtual thread factory, or a daemon platform thread factory when virtual threads are unavailable
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Failed to create a virtual thread factory, falling back to platform threads", e);
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executor that starts a new thread for every task
+     *
+     * @param prefix Thread name prefix
+     * @return Virtual-thread-per-task executor, or a cached platform thread pool when virtual threads are unavailable
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        if (OF_VIRTUAL != null) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Failed to create a thread-per-task executor, falling back to a cached thread pool", e);
+            }
+        }
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    private static Method resolveOfVirtual() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // JDK 19/20 only have virtual threads as a preview feature and throw here without --enable-preview
+            ofVirtual.invoke(null);
+            return ofVirtual;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
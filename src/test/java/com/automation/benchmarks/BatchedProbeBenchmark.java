@@ -0,0 +1,135 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.DriverBinaryResolver;
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.SeleniumUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the five-link navigation check done with one isElementDisplayed call per locator against a single
+ * batched {@link SeleniumUtils#probe} script, on base.url. Every latency in benchmark.probe.latencies.ms is added
+ * to each WebDriver command of a local Chrome session, so 0 measures a local session and larger values a remote
+ * grid at that round-trip time. Reports time and WebDriver commands per check.
+ */
+public class BatchedProbeBenchmark {
+
+    private static final List<By> NAVIGATION_LINKS = Arrays.asList(
+            By.xpath("//button[contains(text(), 'Dashboard')]"),
+            By.xpath("//button[contains(text(), 'Products')]"),
+            By.xpath("//button[contains(text(), 'Orders')]"),
+            By.xpath("//button[contains(text(), 'Users')]"),
+            By.xpath("//button[contains(text(), 'Tasks')]"));
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("batched-probe",
+            "latencyMs", "locators", "iterations", "perLocatorMsPerCheck", "batchedMsPerCheck",
+            "perLocatorCommandsPerCheck", "batchedCommandsPerCheck", "speedup");
+    private ChromeDriverService service;
+
+    @BeforeClass(alwaysRun = true)
+    public void startDriverService() throws IOException {
+        DriverBinaryResolver.resolve(WebDriverFactory.BrowserType.CHROME);
+        service = ChromeDriverService.createDefaultService();
+        service.start();
+    }
+
+    @Test(description = "Measure per-locator checks against one batched probe per check at several round-trip times")
+    public void measureProbes() {
+        int iterations = config.getIntProperty("benchmark.probe.iterations", 20);
+        for (String latency : config.getProperty("benchmark.probe.latencies.ms", "0,50,150").split(",")) {
+            measure(Long.parseLong(latency.trim()), iterations);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        if (service != null) {
+            service.stop();
+        }
+        report.write();
+    }
+
+    private void measure(long latencyMillis, int iterations) {
+        LatencyCommandExecutor executor = new LatencyCommandExecutor(
+                new HttpCommandExecutor(service.getUrl()), latencyMillis);
+        RemoteWebDriver webDriver = new RemoteWebDriver(executor, LaunchProfile.fromConfig().chromeOptions(true));
+        try {
+            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            webDriver.get(config.getProperty("base.url", "http://localhost:3000"));
+            SeleniumUtils seleniumUtils = new SeleniumUtils(webDriver);
+            seleniumUtils.waitForPageLoad();
+
+            long perLocatorCommands = executor.commands.get();
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < iterations; i++) {
+                for (By locator : NAVIGATION_LINKS) {
+                    if (!seleniumUtils.isElementDisplayed(locator)) {
+                        break;
+                    }
+                }
+            }
+            long perLocatorMillis = System.currentTimeMillis() - start;
+            perLocatorCommands = executor.commands.get() - perLocatorCommands;
+
+            long batchedCommands = executor.commands.get();
+            start = System.currentTimeMillis();
+            for (int i = 0; i < iterations; i++) {
+                seleniumUtils.areAllDisplayed(NAVIGATION_LINKS);
+            }
+            long batchedMillis = System.currentTimeMillis() - start;
+            batchedCommands = executor.commands.get() - batchedCommands;
+
+            report.addRow(latencyMillis, NAVIGATION_LINKS.size(), iterations,
+                    perLocatorMillis / iterations, batchedMillis / iterations,
+                    perLocatorCommands / iterations, batchedCommands / iterations,
+                    String.format("%.1f", (double) perLocatorMillis / Math.max(1, batchedMillis)));
+        } finally {
+            webDriver.quit();
+        }
+    }
+
+    /**
+     * Adds a fixed delay to every WebDriver command, standing in for the round-trip to a remote grid
+     */
+    private static final class LatencyCommandExecutor implements CommandExecutor {
+        private final CommandExecutor delegate;
+        private final long latencyMillis;
+        private final AtomicLong commands = new AtomicLong();
+
+        private LatencyCommandExecutor(CommandExecutor delegate, long latencyMillis) {
+            this.delegate = delegate;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            commands.incrementAndGet();
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while simulating latency", e);
+                }
+            }
+            return delegate.execute(command);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.automation.benchmarks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Collects benchmark result rows and writes them as CSV under build/reports/benchmarks
+ */
+public class BenchmarkReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkReport.class);
+    private static final Path REPORT_DIR = Paths.get("build", "reports", "benchmarks");
+
+    private final String name;
+    private final List<String> columns;
+    private final List<List<String>> rows = new ArrayList<>();
+
+    public BenchmarkReport(String name, String... columns) {
+        this.name = name;
+        this.columns = Arrays.asList(columns);
+    }
+
+    public synchronized void addRow(Object... values) {
+        List<String> row = Arrays.stream(values).map(String::valueOf).collect(Collectors.toList());
+        rows.add(row);
+        logger.info("[{}] {}", name, formatRow(row));
+    }
+
+    public synchronized void write() {
+        Path reportFile = REPORT_DIR.resolve(name + ".csv");
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", columns));
+        for (List<String> row : rows) {
+            lines.add(String.join(",", row));
+        }
+        try {
+            Files.createDirectories(REPORT_DIR);
+            Files.write(reportFile, lines, StandardCharsets.UTF_8);
+            logger.info("Benchmark report written to {}", reportFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write benchmark report {}", reportFile, e);
+        }
+    }
+
+    private String formatRow(List<String> row) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(i < columns.size() ? columns.get(i) : "column" + i).append('=').append(row.get(i));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.BrowserContextMultiplexer;
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ProcessMemory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Compares one browser per test with browser contexts multiplexed inside one shared browser.
+ * benchmark.multiplex.tests simulated tests (open base.url, wait for the page, close) run on
+ * benchmark.multiplex.threads workers in each mode. Reports throughput and the peak resident memory of
+ * all driver and browser processes, per concurrent test. Both modes release sessions through the
+ * {@link SessionReaper} and wait for the quits to finish within the measured wall time.
+ */
+public class ContextMultiplexingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContextMultiplexingBenchmark.class);
+    private static final WebDriverFactory.BrowserType BROWSER = WebDriverFactory.BrowserType.CHROME;
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("context-multiplexing",
+            "mode", "tests", "threads", "wallMs", "testsPerMinute", "peakRssMb", "peakRssMbPerTest");
+
+    @Test(description = "Measure memory per test and throughput with one browser per test")
+    public void measureBrowserPerTest() throws Exception {
+        runMode("browser-per-test", () -> WebDriverFactory.createSession(BROWSER, LaunchProfile.fromConfig(), true),
+                webDriver -> SessionReaper.getInstance().quit(webDriver, "benchmark browser"));
+    }
+
+    @Test(description = "Measure memory per test and throughput with browser contexts in one shared browser")
+    public void measureContextPerTest() throws Exception {
+        BrowserContextMultiplexer multiplexer = BrowserContextMultiplexer.getInstance();
+        // Launch the host up front so both modes are measured from a running browser baseline
+        multiplexer.release(multiplexer.lease(BROWSER, true));
+        SessionReaper.getInstance().awaitCompletion();
+        runMode("context-per-test", () -> multiplexer.lease(BROWSER, true), multiplexer::release);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        BrowserContextMultiplexer.getInstance().shutdown();
+        SessionReaper.getInstance().awaitCompletion();
+        report.write();
+    }
+
+    private void runMode(String mode, Supplier<WebDriver> opener, Consumer<WebDriver> closer) throws Exception {
+        int tests = config.getIntProperty("benchmark.multiplex.tests", 12);
+        int threads = config.getIntProperty("benchmark.multiplex.threads", 3);
+        String baseUrl = config.getProperty("base.url", "http://localhost:3000");
+
+        AtomicLong peakRss = new AtomicLong(-1);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakRss.accumulateAndGet(ProcessMemory.descendantResidentBytes(), Math::max),
+                0, 200, TimeUnit.MILLISECONDS);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < tests; i++) {
+                results.add(workers.submit(() -> {
+                    WebDriver webDriver = opener.get();
+                    try {
+                        webDriver.get(baseUrl);
+                        new WebDriverWait(webDriver, Duration.ofSeconds(30)).until(d -> "complete".equals(
+                                ((JavascriptExecutor) d).executeScript("return document.readyState")));
+                    } finally {
+                        closer.accept(webDriver);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            // Both modes release through the reaper; count the quits in the wall time of each
+            SessionReaper.getInstance().awaitCompletion();
+        } finally {
+            workers.shutdown();
+            sampler.shutdownNow();
+        }
+        long wallMillis = System.currentTimeMillis() - start;
+
+        long peakMb = peakRss.get() < 0 ? -1 : peakRss.get() / (1024 * 1024);
+        report.addRow(mode, tests, threads, wallMillis, tests * 60_000L / Math.max(1, wallMillis),
+                peakMb, peakMb < 0 ? -1 : peakMb / threads);
+        if (peakMb < 0) {
+            logger.warn("Resident memory is only measured on Linux (/proc)");
+        }
+    }
+}
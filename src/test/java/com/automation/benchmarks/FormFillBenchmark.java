@@ -0,0 +1,91 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.SeleniumUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fills a product form like the one on the Products page, rendered into a blank page, once with
+ * {@link SeleniumUtils#type} per field and once with a single {@link SeleniumUtils#fillForm} call, for every
+ * description length in benchmark.formfill.description.lengths. Reports the time per form fill.
+ */
+public class FormFillBenchmark {
+
+    private static final By NAME = By.cssSelector("input[placeholder='Product Name']");
+    private static final By PRICE = By.cssSelector("input[placeholder='Price']");
+    private static final By CATEGORY = By.cssSelector("input[placeholder='Category']");
+    private static final By STOCK = By.cssSelector("input[placeholder='Stock']");
+    private static final By DESCRIPTION = By.cssSelector("textarea[placeholder='Description']");
+    private static final String RENDER_SCRIPT =
+            "document.body.innerHTML = '<form>'" +
+            "  + '<input placeholder=\"Product Name\"><input placeholder=\"Price\" type=\"number\">'" +
+            "  + '<input placeholder=\"Category\"><input placeholder=\"Stock\" type=\"number\">'" +
+            "  + '<textarea placeholder=\"Description\"></textarea></form>';";
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("form-fill",
+            "descriptionChars", "iterations", "typeMsPerForm", "fillFormMsPerForm", "speedup");
+    private WebDriver webDriver;
+
+    @BeforeClass(alwaysRun = true)
+    public void startSession() {
+        webDriver = WebDriverFactory.createSession(WebDriverFactory.BrowserType.CHROME,
+                LaunchProfile.fromConfig(), true);
+        webDriver.get("about:blank");
+    }
+
+    @Test(description = "Measure typing every field against one scripted form fill")
+    public void measureFormFill() {
+        SeleniumUtils seleniumUtils = new SeleniumUtils(webDriver);
+        seleniumUtils.executeScript(RENDER_SCRIPT);
+        int iterations = config.getIntProperty("benchmark.formfill.iterations", 5);
+        for (String length : config.getProperty("benchmark.formfill.description.lengths", "50,500,5000").split(",")) {
+            int chars = Integer.parseInt(length.trim());
+            Map<By, String> values = new LinkedHashMap<>();
+            values.put(NAME, "Test Laptop");
+            values.put(PRICE, "999.99");
+            values.put(CATEGORY, "Electronics");
+            values.put(STOCK, "10");
+            values.put(DESCRIPTION, String.join("", Collections.nCopies(chars, "x")));
+
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < iterations; i++) {
+                values.forEach(seleniumUtils::type);
+            }
+            long typeMillis = System.currentTimeMillis() - start;
+
+            start = System.currentTimeMillis();
+            for (int i = 0; i < iterations; i++) {
+                seleniumUtils.fillForm(values);
+            }
+            long fillMillis = System.currentTimeMillis() - start;
+
+            String filled = seleniumUtils.getAttribute(DESCRIPTION, "value");
+            if (filled.length() != chars) {
+                throw new IllegalStateException("Description has " + filled.length() + " chars, expected " + chars);
+            }
+            report.addRow(chars, iterations, typeMillis / iterations, fillMillis / iterations,
+                    String.format("%.1f", (double) typeMillis / Math.max(1, fillMillis)));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        if (webDriver != null) {
+            SessionReaper.getInstance().quit(webDriver, "form fill session");
+        }
+        SessionReaper.getInstance().awaitCompletion();
+        report.write();
+    }
+}
@@ -0,0 +1,98 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures time-to-first-command and time-to-base.url-loaded for every launch profile and browser.
+ * Browsers come from benchmark.browsers (comma separated, default chrome), profiles from
+ * benchmark.profiles (default all) and the number of launches per combination from benchmark.iterations.
+ * Shared driver services and profile templates are switched off, so every launch includes spawning its driver
+ * and starting from an empty profile.
+ */
+public class LaunchProfileBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(LaunchProfileBenchmark.class);
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("launch-profiles",
+            "browser", "profile", "iteration", "timeToFirstCommandMs", "timeToBaseUrlLoadedMs");
+    private final SystemPropertyOverrides overrides = new SystemPropertyOverrides();
+
+    @BeforeClass(alwaysRun = true)
+    public void launchEveryBrowserFromScratch() {
+        overrides.set("driver.service.shared", "false")
+                .set("driver.profile.template.enabled", "false");
+    }
+
+    @DataProvider(name = "launchProfiles")
+    public Object[][] getLaunchProfiles() {
+        String allProfiles = "fast-headless,debug,fidelity";
+        List<Object[]> combinations = new ArrayList<>();
+        for (String browser : config.getProperty("benchmark.browsers", "chrome").split(",")) {
+            for (String profile : config.getProperty("benchmark.profiles", allProfiles).split(",")) {
+                combinations.add(new Object[]{
+                        WebDriverFactory.BrowserType.valueOf(browser.trim().toUpperCase()),
+                        LaunchProfile.fromName(profile.trim())});
+            }
+        }
+        return combinations.toArray(new Object[0][]);
+    }
+
+    @Test(description = "Measure browser startup time per launch profile", dataProvider = "launchProfiles")
+    public void measureLaunchProfileStartup(WebDriverFactory.BrowserType browserType, LaunchProfile profile) {
+        String baseUrl = config.getProperty("base.url", "http://localhost:3000");
+        int iterations = config.getIntProperty("benchmark.iterations", 3);
+        boolean headless = config.getBooleanProperty("headless", true);
+        TimingStats firstCommand = new TimingStats(browserType + "/" + profile.getProfileName() + " time-to-first-command");
+        TimingStats baseUrlLoaded = new TimingStats(browserType + "/" + profile.getProfileName() + " time-to-base.url-loaded");
+
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            long start = System.nanoTime();
+            WebDriver webDriver = WebDriverFactory.createSession(browserType, profile, headless);
+            try {
+                webDriver.getTitle();
+                long firstCommandMillis = elapsedMillis(start);
+
+                webDriver.get(baseUrl);
+                new WebDriverWait(webDriver, Duration.ofSeconds(30)).until(d -> "complete".equals(
+                        ((JavascriptExecutor) d).executeScript("return document.readyState")));
+                long loadedMillis = elapsedMillis(start);
+
+                firstCommand.record(firstCommandMillis);
+                baseUrlLoaded.record(loadedMillis);
+                report.addRow(browserType, profile.getProfileName(), iteration, firstCommandMillis, loadedMillis);
+            } finally {
+                webDriver.quit();
+            }
+        }
+
+        logger.info(firstCommand.summary());
+        logger.info(baseUrlLoaded.summary());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        overrides.restore();
+        report.write();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
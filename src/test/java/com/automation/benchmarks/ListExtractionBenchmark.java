@@ -0,0 +1,85 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.Product;
+import com.automation.utils.SeleniumUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads grids of benchmark.extraction.rows product cards, rendered into a blank page, once with getText() per card
+ * field and once with a single {@link SeleniumUtils#extractList} call. Reports the time per grid and per row.
+ */
+public class ListExtractionBenchmark {
+
+    private static final By PRODUCT_CARD = By.cssSelector("div.product-card");
+    private static final Map<String, String> FIELDS = Map.of("name", "h3", "category", ":scope > p:nth-of-type(2)");
+    private static final String RENDER_SCRIPT =
+            "var html = [];" +
+            "for (var i = 0; i < arguments[0]; i++) {" +
+            "  html.push('<div class=\"product-card\"><h3>Product ' + i + '</h3><p>$' + i + '.99</p>'" +
+            "    + '<p>' + ['Electronics', 'Education', 'Home'][i % 3] + '</p></div>');" +
+            "}" +
+            "document.body.innerHTML = html.join('');";
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("list-extraction",
+            "rows", "perElementMs", "extractMs", "perElementUsPerRow", "extractUsPerRow", "speedup");
+    private WebDriver webDriver;
+
+    @BeforeClass(alwaysRun = true)
+    public void startSession() {
+        webDriver = WebDriverFactory.createSession(WebDriverFactory.BrowserType.CHROME,
+                LaunchProfile.fromConfig(), true);
+        webDriver.get("about:blank");
+    }
+
+    @Test(description = "Measure per-element getText against one structured extraction call")
+    public void measureExtraction() {
+        SeleniumUtils seleniumUtils = new SeleniumUtils(webDriver);
+        for (String rows : config.getProperty("benchmark.extraction.rows", "10,100,1000,5000").split(",")) {
+            int count = Integer.parseInt(rows.trim());
+            seleniumUtils.executeScript(RENDER_SCRIPT, count);
+
+            long start = System.currentTimeMillis();
+            List<Product> perElement = new ArrayList<>();
+            for (WebElement card : webDriver.findElements(PRODUCT_CARD)) {
+                perElement.add(new Product(card.findElement(By.cssSelector("h3")).getText(), null,
+                        card.findElement(By.cssSelector(":scope > p:nth-of-type(2)")).getText(), null, null));
+            }
+            long perElementMillis = System.currentTimeMillis() - start;
+
+            start = System.currentTimeMillis();
+            List<Product> extracted = seleniumUtils.extractList(PRODUCT_CARD, FIELDS, Product.class);
+            long extractMillis = System.currentTimeMillis() - start;
+
+            if (extracted.size() != perElement.size()) {
+                throw new IllegalStateException(
+                        "Extracted " + extracted.size() + " rows, expected " + perElement.size());
+            }
+            report.addRow(count, perElementMillis, extractMillis, perElementMillis * 1000 / count,
+                    extractMillis * 1000 / count,
+                    String.format("%.1f", (double) perElementMillis / Math.max(1, extractMillis)));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        if (webDriver != null) {
+            SessionReaper.getInstance().quit(webDriver, "list extraction session");
+        }
+        SessionReaper.getInstance().awaitCompletion();
+        report.write();
+    }
+}
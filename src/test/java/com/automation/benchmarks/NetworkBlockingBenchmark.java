@@ -0,0 +1,83 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.NetworkBlocker;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Compares page loads with and without network blocking on Chromium.
+ * The unblocked run observes which requests the blocking rules match and how many bytes they transfer;
+ * the blocked run counts the requests actually failed. Both report the document.readyState complete time.
+ * Pages come from benchmark.pages (comma separated URLs, default base.url).
+ */
+public class NetworkBlockingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkBlockingBenchmark.class);
+    private static final String DOM_COMPLETE_SCRIPT =
+            "var navigation = performance.getEntriesByType('navigation')[0];" +
+            "return navigation ? Math.round(navigation.domComplete) : -1;";
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("network-blocking",
+            "page", "mode", "iteration", "requestsMatched", "bytesMatched", "readyStateCompleteMs");
+
+    @DataProvider(name = "pages")
+    public Object[][] getPages() {
+        String[] pages = config.getProperty("benchmark.pages", config.getProperty("base.url", "http://localhost:3000")).split(",");
+        Object[][] data = new Object[pages.length][];
+        for (int i = 0; i < pages.length; i++) {
+            data[i] = new Object[]{pages[i].trim()};
+        }
+        return data;
+    }
+
+    @Test(description = "Measure blocked requests, bytes and load time per page", dataProvider = "pages")
+    public void measureNetworkBlocking(String page) {
+        int iterations = config.getIntProperty("benchmark.iterations", 3);
+        long unblockedTotal = 0;
+        long blockedTotal = 0;
+
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            unblockedTotal += loadPage(page, NetworkBlocker.Mode.MEASURE, iteration);
+            blockedTotal += loadPage(page, NetworkBlocker.Mode.BLOCK, iteration);
+        }
+
+        logger.info("{}: readyState complete avg {}ms unblocked vs {}ms blocked ({}ms saved per load)",
+                page, unblockedTotal / iterations, blockedTotal / iterations, (unblockedTotal - blockedTotal) / iterations);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        report.write();
+    }
+
+    private long loadPage(String page, NetworkBlocker.Mode mode, int iteration) {
+        WebDriver webDriver = WebDriverFactory.createSession(WebDriverFactory.BrowserType.CHROME, LaunchProfile.fromConfig(), true);
+        try {
+            NetworkBlocker blocker = NetworkBlocker.install(webDriver, mode);
+            webDriver.get(page);
+            new WebDriverWait(webDriver, Duration.ofSeconds(30)).until(d -> "complete".equals(
+                    ((JavascriptExecutor) d).executeScript("return document.readyState")));
+            long domComplete = ((Number) ((JavascriptExecutor) webDriver).executeScript(DOM_COMPLETE_SCRIPT)).longValue();
+
+            report.addRow(page, mode, iteration,
+                    blocker != null ? blocker.getMatchedRequests() : 0,
+                    blocker != null && mode == NetworkBlocker.Mode.MEASURE ? blocker.getMatchedBytes() : 0,
+                    domComplete);
+            return domComplete;
+        } finally {
+            webDriver.quit();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.ProfileTemplates;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the first navigation to base.url on a fresh, empty profile (cold) with a session started from a
+ * clone of the golden profile template (warm). Reports navigation time and bytes transferred over the network.
+ */
+public class ProfileTemplateBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTemplateBenchmark.class);
+    private static final String TRANSFERRED_BYTES_SCRIPT =
+            "return performance.getEntriesByType('navigation').concat(performance.getEntriesByType('resource'))" +
+            ".reduce(function (total, entry) { return total + (entry.transferSize || 0); }, 0);";
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("profile-templates",
+            "browser", "profile", "iteration", "firstNavigationMs", "transferredBytes");
+
+    @Test(description = "Measure cold versus warm first navigation to base.url")
+    public void measureColdVersusWarmFirstNavigation() {
+        int iterations = config.getIntProperty("benchmark.iterations", 3);
+        WebDriverFactory.BrowserType browserType = WebDriverFactory.BrowserType.CHROME;
+        TimingStats cold = new TimingStats("Cold first navigation");
+        TimingStats warm = new TimingStats("Warm first navigation");
+
+        // No template exists yet, so these sessions start on empty profiles
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            cold.record(firstNavigation(browserType, "cold", iteration));
+        }
+        ProfileTemplates.getInstance().buildTemplate(browserType, true);
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            warm.record(firstNavigation(browserType, "warm", iteration));
+        }
+
+        logger.info("{} / {} ({}ms saved per session on average)",
+                cold.summary(), warm.summary(), Math.round(cold.average() - warm.average()));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        SessionReaper.getInstance().awaitCompletion();
+        ProfileTemplates.getInstance().shutdown();
+        report.write();
+    }
+
+    private long firstNavigation(WebDriverFactory.BrowserType browserType, String profile, int iteration) {
+        WebDriver webDriver = WebDriverFactory.createSession(browserType, LaunchProfile.fromConfig(), true);
+        try {
+            long navigationMillis = ProfileTemplates.firstNavigationMillis(webDriver,
+                    config.getProperty("base.url", "http://localhost:3000"));
+            Object transferred = ((JavascriptExecutor) webDriver).executeScript(TRANSFERRED_BYTES_SCRIPT);
+            report.addRow(browserType, profile, iteration, navigationMillis, transferred);
+            return navigationMillis;
+        } finally {
+            // The reaper also deletes the session's profile clone
+            SessionReaper.getInstance().quit(webDriver, profile + " profile session");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.SessionAdmissionController;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs more concurrent test threads than a {@link StubHub} has session slots, through the grid path of
+ * {@link WebDriverFactory}, once sending every session request straight to the hub and once through the
+ * {@link SessionAdmissionController}. Reports session creation failures, hub-side rejections, peak concurrent
+ * sessions on the hub and the per-test queue wait.
+ */
+public class SessionAdmissionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionAdmissionBenchmark.class);
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("session-admission",
+            "mode", "slots", "threads", "tests", "wallMs", "failedTests", "hubRejections", "peakHubSessions",
+            "queueWaitP50Ms", "queueWaitP95Ms", "queueWaitMaxMs");
+    private final SystemPropertyOverrides overrides = new SystemPropertyOverrides();
+    private int slots;
+
+    @BeforeClass(alwaysRun = true)
+    public void routeSessionsToStubHub() {
+        slots = config.getIntProperty("benchmark.admission.slots", 5);
+        overrides.set("grid.enabled", "true");
+        // Read once, when the controller is first used
+        overrides.set("session.admission.max.sessions", String.valueOf(slots));
+    }
+
+    @Test(description = "Send more session requests than the hub has slots straight to the hub")
+    public void measureWithoutAdmission() throws Exception {
+        runMode("hub-only", false);
+    }
+
+    @Test(description = "Queue session requests client-side so the hub never sees more than its slots")
+    public void measureWithAdmission() throws Exception {
+        runMode("client-admission", true);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        SessionReaper.getInstance().awaitCompletion();
+        overrides.restore();
+        report.write();
+    }
+
+    private void runMode(String mode, boolean admission) throws Exception {
+        int threads = config.getIntProperty("benchmark.admission.threads", 15);
+        int tests = config.getIntProperty("benchmark.admission.tests", 30);
+        int commands = config.getIntProperty("benchmark.admission.commands", 5);
+        StubHub hub = new StubHub(0, config.getLongProperty("benchmark.admission.latency.ms", 50), 20, slots);
+        hub.start();
+        overrides.set("grid.hub.url", hub.getUrl().toString());
+        overrides.set("session.admission.enabled", String.valueOf(admission));
+
+        TimingStats queueWaits = new TimingStats(mode + " queue wait");
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < tests; i++) {
+                results.add(workers.submit(() -> {
+                    WebDriver webDriver;
+                    try {
+                        webDriver = WebDriverFactory.createSession(WebDriverFactory.BrowserType.CHROME,
+                                LaunchProfile.fromConfig(), true);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        logger.debug("Session not created: {}", e.getMessage());
+                        return;
+                    } finally {
+                        queueWaits.record(SessionAdmissionController.drainQueueWaitMillis());
+                    }
+                    try {
+                        for (int command = 0; command < commands; command++) {
+                            webDriver.getTitle();
+                        }
+                    } finally {
+                        SessionReaper.getInstance().quit(webDriver, mode + " session");
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            SessionReaper.getInstance().awaitCompletion();
+        } finally {
+            workers.shutdown();
+            hub.stop();
+        }
+
+        report.addRow(mode, slots, threads, tests, System.currentTimeMillis() - start, failures.get(),
+                hub.getRejectedSessions(), hub.getPeakSessions(),
+                queueWaits.percentile(50), queueWaits.percentile(95), queueWaits.max());
+    }
+}
@@ -0,0 +1,120 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ProcessMemory;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ramps up concurrent browsers, each parked on base.url, one at a time until the resident memory of all driver
+ * and browser processes reaches benchmark.density.memory.budget.mb (or benchmark.density.max.sessions are open),
+ * per launch profile in benchmark.density.profiles. At the reached density every browser then loads base.url at
+ * once. Reports sessions per GB and the page load time at full density against a single browser, which is the
+ * per-test latency cost of running that many sessions, to size the suite thread-count from.
+ */
+public class SessionDensityBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionDensityBenchmark.class);
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("session-density",
+            "profile", "browser", "budgetMb", "sessions", "rssMb", "rssMbPerSession", "sessionsPerGb",
+            "singleLoadMs", "fullDensityLoadP50Ms", "fullDensityLoadP95Ms", "latencyCostPct");
+
+    @Test(description = "Ramp up browsers per launch profile until the memory budget is reached")
+    public void measureSessionsPerGb() throws Exception {
+        if (!ProcessMemory.isSupported()) {
+            throw new SkipException("Resident memory is only measured on Linux (/proc)");
+        }
+        WebDriverFactory.BrowserType browser = WebDriverFactory.browserTypeOf(
+                config.getProperty("benchmark.density.browser", "chrome"));
+        for (String name : config.getProperty("benchmark.density.profiles", "fidelity,high-density").split(",")) {
+            measure(LaunchProfile.fromName(name.trim()), browser);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        SessionReaper.getInstance().awaitCompletion();
+        report.write();
+    }
+
+    private void measure(LaunchProfile profile, WebDriverFactory.BrowserType browser) throws Exception {
+        long budgetMb = config.getLongProperty("benchmark.density.memory.budget.mb", 4096);
+        int maxSessions = config.getIntProperty("benchmark.density.max.sessions", 50);
+        String baseUrl = config.getProperty("base.url", "http://localhost:3000");
+
+        List<WebDriver> sessions = new ArrayList<>();
+        long rssMb = 0;
+        long singleLoadMs = -1;
+        try {
+            while (sessions.size() < maxSessions) {
+                WebDriver webDriver = WebDriverFactory.createSession(browser, profile, true);
+                sessions.add(webDriver);
+                long loadMs = load(webDriver, baseUrl);
+                if (singleLoadMs < 0) {
+                    singleLoadMs = loadMs;
+                }
+                rssMb = ProcessMemory.descendantResidentBytes() / (1024 * 1024);
+                logger.info("{}: {} session(s) use {}MB", profile.getProfileName(), sessions.size(), rssMb);
+                if (rssMb >= budgetMb) {
+                    break;
+                }
+            }
+
+            TimingStats fullDensityLoads = loadAll(sessions, baseUrl);
+            int count = sessions.size();
+            long perSessionMb = rssMb / count;
+            report.addRow(profile.getProfileName(), browser.name().toLowerCase(), budgetMb, count, rssMb, perSessionMb,
+                    String.format("%.1f", 1024.0 / Math.max(1, perSessionMb)), singleLoadMs,
+                    fullDensityLoads.percentile(50), fullDensityLoads.percentile(95),
+                    (fullDensityLoads.percentile(50) - singleLoadMs) * 100 / Math.max(1, singleLoadMs));
+        } finally {
+            String description = profile.getProfileName() + " session";
+            sessions.forEach(webDriver -> SessionReaper.getInstance().quit(webDriver, description));
+            SessionReaper.getInstance().awaitCompletion();
+        }
+    }
+
+    private TimingStats loadAll(List<WebDriver> sessions, String baseUrl) throws Exception {
+        TimingStats loads = new TimingStats("Full density page load");
+        ExecutorService workers = Executors.newFixedThreadPool(sessions.size());
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (WebDriver webDriver : sessions) {
+                results.add(workers.submit(() -> load(webDriver, baseUrl)));
+            }
+            for (Future<Long> result : results) {
+                loads.record(result.get());
+            }
+        } finally {
+            workers.shutdown();
+        }
+        return loads;
+    }
+
+    private static long load(WebDriver webDriver, String url) {
+        long start = System.currentTimeMillis();
+        webDriver.get(url);
+        new WebDriverWait(webDriver, Duration.ofSeconds(60)).until(d -> "complete".equals(
+                ((JavascriptExecutor) d).executeScript("return document.readyState")));
+        return System.currentTimeMillis() - start;
+    }
+}
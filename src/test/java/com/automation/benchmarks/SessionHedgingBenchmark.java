@@ -0,0 +1,103 @@
+package com.automation.benchmarks;
+
+import com.automation.driver.LaunchProfile;
+import com.automation.driver.SessionHedger;
+import com.automation.driver.SessionReaper;
+import com.automation.driver.WebDriverFactory;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TimingStats;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Starts benchmark.hedging.sessions sessions through the grid path of {@link WebDriverFactory} against a
+ * {@link StubHub} whose session starts have a long tail (benchmark.hedging.slow.rate of them take an extra
+ * benchmark.hedging.slow.ms), once without and once with {@link SessionHedger}.
+ * Reports p50/p95/p99 session start time, hedged starts and losing sessions quit.
+ */
+public class SessionHedgingBenchmark {
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("session-hedging",
+            "mode", "sessions", "threads", "slowRate", "slowMs", "p50Ms", "p95Ms", "p99Ms", "maxMs",
+            "hedgedStarts", "losersQuit");
+    private final SystemPropertyOverrides overrides = new SystemPropertyOverrides();
+    private StubHub hub;
+
+    @BeforeClass(alwaysRun = true)
+    public void startHub() throws Exception {
+        hub = new StubHub(0, config.getLongProperty("benchmark.hedging.latency.ms", 200), 100);
+        hub.setSlowSessionStarts(Double.parseDouble(config.getProperty("benchmark.hedging.slow.rate", "0.05")),
+                config.getLongProperty("benchmark.hedging.slow.ms", 5000));
+        hub.start();
+        overrides.set("grid.enabled", "true")
+                .set("grid.hub.url", hub.getUrl().toString())
+                .set("session.admission.enabled", "false");
+    }
+
+    @Test(description = "Measure session start times without hedging")
+    public void measureWithoutHedging() throws Exception {
+        runMode("single-attempt", false);
+    }
+
+    @Test(description = "Measure session start times with a hedged second attempt after the p90 start time")
+    public void measureWithHedging() throws Exception {
+        runMode("hedged", true);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        SessionReaper.getInstance().awaitCompletion();
+        if (hub != null) {
+            hub.stop();
+        }
+        overrides.restore();
+        report.write();
+    }
+
+    private void runMode(String mode, boolean hedging) throws Exception {
+        int sessions = config.getIntProperty("benchmark.hedging.sessions", 200);
+        int threads = config.getIntProperty("benchmark.hedging.threads", 4);
+        overrides.set("session.hedging.enabled", String.valueOf(hedging));
+        int hedgesBefore = hedging ? SessionHedger.getInstance().getHedgeCount() : 0;
+
+        TimingStats startTimes = new TimingStats(mode + " session start");
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                results.add(workers.submit(() -> {
+                    long start = System.currentTimeMillis();
+                    WebDriver webDriver = WebDriverFactory.createSession(WebDriverFactory.BrowserType.CHROME,
+                            LaunchProfile.fromConfig(), true);
+                    startTimes.record(System.currentTimeMillis() - start);
+                    SessionReaper.getInstance().quit(webDriver, mode + " session");
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+
+        if (hedging) {
+            // Losing attempts of the last starts are still on their way to the reaper
+            SessionHedger.getInstance().shutdown();
+        }
+        SessionReaper.getInstance().awaitCompletion();
+        report.addRow(mode, sessions, threads, config.getProperty("benchmark.hedging.slow.rate", "0.05"),
+                config.getLongProperty("benchmark.hedging.slow.ms", 5000),
+                startTimes.percentile(50), startTimes.percentile(95), startTimes.percentile(99), startTimes.max(),
+                hedging ? SessionHedger.getInstance().getHedgeCount() - hedgesBefore : 0,
+                hedging ? SessionHedger.getInstance().getLosersQuit() : 0);
+    }
+}
@@ -0,0 +1,284 @@
+package com.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process W3C WebDriver endpoint without a browser behind it, for measuring the client side of remote
+ * execution. Every command is answered after an injectable latency (plus optional jitter) that stands in for the
+ * network and cloud round-trip. Responses are delayed on a scheduler rather than a sleeping thread, so the hub
+ * itself holds no thread per in-flight request and stays out of the client-side measurements.
+ * Element lookups return a fixed element reference, the title and URL commands echo plausible values and every
+ * other command answers with a null value. With a session limit it behaves like a cloud grid at its parallel cap:
+ * session requests beyond the limit are rejected, not queued. A fraction of session starts can be made slow to
+ * reproduce a long start-time tail.
+ */
+public class StubHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubHub.class);
+    private static final String BASE_PATH = "/wd/hub";
+    private static final String SESSION_PATH = BASE_PATH + "/session";
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, String> sessionUrls = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final int maxSessions;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService responder;
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicInteger sessionsCreated = new AtomicInteger();
+    private final AtomicInteger peakSessions = new AtomicInteger();
+    private final AtomicInteger rejectedSessions = new AtomicInteger();
+    private volatile double slowStartRate;
+    private volatile long slowStartMillis;
+
+    /**
+     * @param port          Port to listen on; 0 picks a free port
+     * @param latencyMillis Delay added to every response
+     * @param jitterMillis  Maximum random delay added on top of the latency
+     */
+    public StubHub(int port, long latencyMillis, long jitterMillis) throws IOException {
+        this(port, latencyMillis, jitterMillis, 0);
+    }
+
+    /**
+     * @param port          Port to listen on; 0 picks a free port
+     * @param latencyMillis Delay added to every response
+     * @param jitterMillis  Maximum random delay added on top of the latency
+     * @param maxSessions   Concurrent session limit; further session requests are rejected. 0 means unlimited.
+     */
+    public StubHub(int port, long latencyMillis, long jitterMillis, int maxSessions) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.maxSessions = maxSessions;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.requestExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "stub-hub-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.responder = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "stub-hub-responder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Deep accept backlog: hundreds of clients connect at once when a large run starts
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        this.server.createContext(BASE_PATH, this::handle);
+        this.server.setExecutor(requestExecutor);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Stub hub listening on {} with {}ms latency (+{}ms jitter)", getUrl(), latencyMillis, jitterMillis);
+    }
+
+    public void stop() {
+        server.stop(0);
+        responder.shutdownNow();
+        requestExecutor.shutdownNow();
+        logger.info("Stub hub stopped: {} session(s), {} rejected, {} command(s), peak {} concurrent session(s)",
+                sessionsCreated.get(), rejectedSessions.get(), commands.get(), peakSessions.get());
+    }
+
+    /**
+     * @return Hub URL to pass to RemoteWebDriver
+     */
+    public URL getUrl() {
+        try {
+            return new URL("http://localhost:" + server.getAddress().getPort() + BASE_PATH);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Give session starts a long tail, like slow disks or a busy cloud provider
+     *
+     * @param rate        Fraction of session requests that are slow, between 0 and 1
+     * @param extraMillis Delay added to a slow session request
+     */
+    public void setSlowSessionStarts(double rate, long extraMillis) {
+        this.slowStartRate = rate;
+        this.slowStartMillis = extraMillis;
+    }
+
+    public long getCommandCount() {
+        return commands.get();
+    }
+
+    public int getPeakSessions() {
+        return peakSessions.get();
+    }
+
+    public int getRejectedSessions() {
+        return rejectedSessions.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        String body;
+        long extraDelay = 0;
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            commands.incrementAndGet();
+
+            if ("POST".equals(method) && (path.equals(SESSION_PATH) || path.equals(SESSION_PATH + "/"))) {
+                String created = createSession(request);
+                if (ThreadLocalRandom.current().nextDouble() < slowStartRate) {
+                    extraDelay = slowStartMillis;
+                }
+                status = created != null ? 200 : 500;
+                body = created != null ? created
+                        : error("session not created", "All " + maxSessions + " parallel session slot(s) are in use");
+            } else if (path.startsWith(SESSION_PATH + "/")) {
+                String[] segments = path.substring(SESSION_PATH.length() + 1).split("/", 2);
+                String command = segments.length > 1 ? segments[1] : "";
+                if (!sessionUrls.containsKey(segments[0])) {
+                    status = 404;
+                    body = error("invalid session id", "Unknown session " + segments[0]);
+                } else {
+                    status = 200;
+                    body = sessionCommand(segments[0], method, command, request);
+                }
+            } else if (path.equals(BASE_PATH + "/status")) {
+                status = 200;
+                body = "{\"value\":{\"ready\":true,\"message\":\"stub hub\"}}";
+            } else {
+                status = 404;
+                body = error("unknown command", "Unknown path " + path);
+            }
+        } catch (Exception e) {
+            status = 500;
+            body = error("unknown error", String.valueOf(e.getMessage()));
+        }
+
+        int responseStatus = status;
+        String responseBody = body;
+        long delay = extraDelay + latencyMillis
+                + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        responder.schedule(() -> respond(exchange, responseStatus, responseBody), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return New session response, or null when every session slot is taken
+     */
+    private String createSession(byte[] request) throws IOException {
+        JsonNode capabilities = mapper.readTree(request).path("capabilities");
+        String browserName = capabilities.path("alwaysMatch").path("browserName").asText("");
+        if (browserName.isEmpty()) {
+            browserName = capabilities.path("firstMatch").path(0).path("browserName").asText("chrome");
+        }
+        String sessionId = UUID.randomUUID().toString();
+        synchronized (sessionUrls) {
+            if (maxSessions > 0 && sessionUrls.size() >= maxSessions) {
+                rejectedSessions.incrementAndGet();
+                return null;
+            }
+            sessionUrls.put(sessionId, "about:blank");
+        }
+        sessionsCreated.incrementAndGet();
+        peakSessions.accumulateAndGet(sessionUrls.size(), Math::max);
+
+        ObjectNode returned = mapper.createObjectNode();
+        returned.put("browserName", browserName);
+        returned.put("browserVersion", "stub");
+        returned.put("platformName", "linux");
+        returned.put("acceptInsecureCerts", false);
+        returned.put("setWindowRect", true);
+        ObjectNode value = mapper.createObjectNode();
+        value.put("sessionId", sessionId);
+        value.set("capabilities", returned);
+        return wrap(value);
+    }
+
+    private String sessionCommand(String sessionId, String method, String command, byte[] request) throws IOException {
+        if ("DELETE".equals(method) && command.isEmpty()) {
+            sessionUrls.remove(sessionId);
+            return "{\"value\":null}";
+        }
+        switch (command) {
+            case "url":
+                if ("POST".equals(method)) {
+                    sessionUrls.put(sessionId, mapper.readTree(request).path("url").asText("about:blank"));
+                    return "{\"value\":null}";
+                }
+                return wrap(mapper.getNodeFactory().textNode(sessionUrls.get(sessionId)));
+            case "title":
+                return "{\"value\":\"Stub Hub\"}";
+            case "element":
+                return wrap(elementReference());
+            case "elements":
+                return wrap(mapper.createArrayNode().add(elementReference()));
+            default:
+                return "{\"value\":null}";
+        }
+    }
+
+    private ObjectNode elementReference() {
+        ObjectNode element = mapper.createObjectNode();
+        element.put(ELEMENT_KEY, "stub-element");
+        return element;
+    }
+
+    private String wrap(JsonNode value) throws IOException {
+        ObjectNode payload = mapper.createObjectNode();
+        payload.set("value", value);
+        return mapper.writeValueAsString(payload);
+    }
+
+    private String error(String error, String message) {
+        ObjectNode value = mapper.createObjectNode();
+        value.put("error", error);
+        value.put("message", message);
+        value.put("stacktrace", "");
+        try {
+            return wrap(value);
+        } catch (IOException e) {
+            return "{\"value\":{\"error\":\"unknown error\"}}";
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        } catch (IOException e) {
+            logger.debug("Stub hub client went away before the response", e);
+        } finally {
+            exchange.close();
+        }
+    }
+}
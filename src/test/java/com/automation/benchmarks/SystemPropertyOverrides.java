@@ -0,0 +1,41 @@
+package com.automation.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * System properties a benchmark overrides while it runs. ConfigReader lets System properties win over the config
+ * file, so this is how a benchmark switches features for its own sessions. The value a property had before its
+ * first override is remembered and put back (or the property cleared) by {@link #restore()}.
+ */
+public class SystemPropertyOverrides {
+
+    private final Map<String, String> originalValues = new LinkedHashMap<>();
+
+    /**
+     * @param property System property name
+     * @param value    Value to use until {@link #restore()}
+     * @return This instance, for chaining
+     */
+    public SystemPropertyOverrides set(String property, String value) {
+        if (!originalValues.containsKey(property)) {
+            originalValues.put(property, System.getProperty(property));
+        }
+        System.setProperty(property, value);
+        return this;
+    }
+
+    /**
+     * Put every overridden property back to the value it had before its first override
+     */
+    public void restore() {
+        originalValues.forEach((property, value) -> {
+            if (value == null) {
+                System.clearProperty(property);
+            } else {
+                System.setProperty(property, value);
+            }
+        });
+        originalValues.clear();
+    }
+}
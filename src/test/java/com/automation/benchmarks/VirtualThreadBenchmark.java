@@ -0,0 +1,138 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ProcessMemory;
+import com.automation.utils.VirtualThreads;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives benchmark.vthreads.sessions concurrent remote sessions against the {@link StubHub}, each issuing
+ * benchmark.vthreads.commands commands with benchmark.vthreads.latency.ms of simulated round-trip latency,
+ * once with one platform thread per session and once with one virtual thread per session.
+ * Reports throughput, peak live platform threads and JVM resident memory per in-flight session.
+ */
+public class VirtualThreadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadBenchmark.class);
+
+    private final ConfigReader config = ConfigReader.getInstance();
+    private final BenchmarkReport report = new BenchmarkReport("virtual-threads",
+            "mode", "sessions", "commandsPerSession", "latencyMs", "wallMs", "sessionsPerMinute", "commandsPerSecond",
+            "peakPlatformThreads", "rssDeltaMb", "rssKbPerSession");
+    private StubHub hub;
+
+    @BeforeClass(alwaysRun = true)
+    public void startHub() throws Exception {
+        hub = new StubHub(0, config.getLongProperty("benchmark.vthreads.latency.ms", 100),
+                config.getLongProperty("benchmark.vthreads.jitter.ms", 20));
+        hub.start();
+    }
+
+    @Test(description = "Measure concurrent remote sessions with one platform thread per session")
+    public void measurePlatformThreads() throws Exception {
+        int sessions = config.getIntProperty("benchmark.vthreads.sessions", 200);
+        AtomicInteger threadNumber = new AtomicInteger();
+        runMode("platform-threads", Executors.newFixedThreadPool(sessions, runnable -> {
+            Thread thread = new Thread(runnable, "platform-session-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    @Test(description = "Measure concurrent remote sessions with one virtual thread per session")
+    public void measureVirtualThreads() throws Exception {
+        if (!VirtualThreads.isAvailable()) {
+            throw new SkipException("Virtual threads need JDK 21+, running on " + System.getProperty("java.version"));
+        }
+        runMode("virtual-threads", VirtualThreads.newThreadPerTaskExecutor("virtual-session"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        if (hub != null) {
+            hub.stop();
+        }
+        report.write();
+    }
+
+    private void runMode(String mode, ExecutorService workers) throws Exception {
+        int sessions = config.getIntProperty("benchmark.vthreads.sessions", 200);
+        int commands = config.getIntProperty("benchmark.vthreads.commands", 20);
+        long latency = config.getLongProperty("benchmark.vthreads.latency.ms", 100);
+        long pid = ProcessHandle.current().pid();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        System.gc();
+        long baselineRss = ProcessMemory.residentBytes(pid);
+        AtomicLong peakRss = new AtomicLong(baselineRss);
+        AtomicInteger peakThreads = new AtomicInteger(threads.getThreadCount());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakRss.accumulateAndGet(ProcessMemory.residentBytes(pid), Math::max);
+            peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+        }, 0, 100, TimeUnit.MILLISECONDS);
+
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                results.add(workers.submit(() -> {
+                    WebDriver webDriver = new RemoteWebDriver(hub.getUrl(), new ChromeOptions());
+                    try {
+                        for (int command = 0; command < commands; command++) {
+                            switch (command % 3) {
+                                case 0:
+                                    webDriver.get("http://localhost/stub/" + command);
+                                    break;
+                                case 1:
+                                    webDriver.getTitle();
+                                    break;
+                                default:
+                                    webDriver.findElement(By.id("stub"));
+                            }
+                        }
+                    } finally {
+                        webDriver.quit();
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdown();
+            sampler.shutdownNow();
+        }
+        long wallMillis = System.currentTimeMillis() - start;
+
+        long rssDeltaKb = baselineRss < 0 ? -1 : (peakRss.get() - baselineRss) / 1024;
+        report.addRow(mode, sessions, commands, latency, wallMillis,
+                sessions * 60_000L / Math.max(1, wallMillis),
+                (long) sessions * (commands + 2) * 1000 / Math.max(1, wallMillis),
+                peakThreads.get(), rssDeltaKb < 0 ? -1 : rssDeltaKb / 1024, rssDeltaKb < 0 ? -1 : rssDeltaKb / sessions);
+        if (baselineRss < 0) {
+            logger.warn("Resident memory is only measured on Linux (/proc)");
+        }
+    }
+}